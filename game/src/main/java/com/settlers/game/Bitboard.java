@@ -0,0 +1,174 @@
+package com.settlers.game;
+
+public final class Bitboard {
+    private static final int COLORS = Color.values().length;
+
+    private final Topology topology;
+    private final int vertexWords;
+    private final int edgeWords;
+    private final long[] settlements;
+    private final long[] cities;
+    private final long[] roads;
+    private final long[] occupiedVertices;
+    private final long[] occupiedEdges;
+
+    public Bitboard(Topology topology) {
+        this.topology = topology;
+        this.vertexWords = topology.vertexWords();
+        this.edgeWords = topology.edgeWords();
+        this.settlements = new long[COLORS * vertexWords];
+        this.cities = new long[COLORS * vertexWords];
+        this.roads = new long[COLORS * edgeWords];
+        this.occupiedVertices = new long[vertexWords];
+        this.occupiedEdges = new long[edgeWords];
+    }
+
+    public Bitboard(Bitboard other) {
+        this.topology = other.topology;
+        this.vertexWords = other.vertexWords;
+        this.edgeWords = other.edgeWords;
+        this.settlements = other.settlements.clone();
+        this.cities = other.cities.clone();
+        this.roads = other.roads.clone();
+        this.occupiedVertices = other.occupiedVertices.clone();
+        this.occupiedEdges = other.occupiedEdges.clone();
+    }
+
+    public boolean hasSettlement(int vertex, Color color) {
+        return isSet(settlements, color.ordinal() * vertexWords, vertex);
+    }
+
+    public boolean hasCity(int vertex, Color color) {
+        return isSet(cities, color.ordinal() * vertexWords, vertex);
+    }
+
+    public boolean hasBuilding(int vertex) {
+        return isSet(occupiedVertices, 0, vertex);
+    }
+
+    public boolean hasRoad(int edge, Color color) {
+        return isSet(roads, color.ordinal() * edgeWords, edge);
+    }
+
+    public boolean hasRoad(int edge) {
+        return isSet(occupiedEdges, 0, edge);
+    }
+
+    public int countSettlements(Color color) {
+        return count(settlements, color.ordinal() * vertexWords, vertexWords);
+    }
+
+    public int countCities(Color color) {
+        return count(cities, color.ordinal() * vertexWords, vertexWords);
+    }
+
+    long settlementMask(Color color, int word) {
+        return settlements[color.ordinal() * vertexWords + word];
+    }
+
+    long cityMask(Color color, int word) {
+        return cities[color.ordinal() * vertexWords + word];
+    }
+
+    public boolean canPlaceSettlement(int vertex, Color color, boolean isSetupPhase) {
+        if (hasBuilding(vertex)) return false;
+        if (hasAdjacentBuilding(vertex)) return false;
+
+        return isSetupPhase || hasIncidentRoad(vertex, color);
+    }
+
+    public boolean canPlaceCity(int vertex, Color color, boolean isSetupPhase) {
+        if (!hasSettlement(vertex, color)) return false;
+        if (hasAdjacentBuilding(vertex)) return false;
+
+        return isSetupPhase || hasIncidentRoad(vertex, color);
+    }
+
+    public boolean canPlaceRoad(int edge, Color color) {
+        if (hasRoad(edge)) return false;
+
+        Topology.Adjacency edgeVertices = topology.edgeVertices();
+        int colorVertices = color.ordinal() * vertexWords;
+        for (int word = 0; word < vertexWords; word++) {
+            long ownBuildings = settlements[colorVertices + word] | cities[colorVertices + word];
+            if ((edgeVertices.mask(edge, word) & ownBuildings) != 0) return true;
+        }
+
+        Topology.Adjacency edgeEdges = topology.edgeEdges();
+        int colorEdges = color.ordinal() * edgeWords;
+        for (int word = 0; word < edgeWords; word++) {
+            if ((edgeEdges.mask(edge, word) & roads[colorEdges + word]) != 0) return true;
+        }
+
+        return false;
+    }
+
+    public void placeSettlement(int vertex, Color color) {
+        set(settlements, color.ordinal() * vertexWords, vertex);
+        set(occupiedVertices, 0, vertex);
+    }
+
+    public void placeCity(int vertex, Color color) {
+        clear(settlements, color.ordinal() * vertexWords, vertex);
+        set(cities, color.ordinal() * vertexWords, vertex);
+        set(occupiedVertices, 0, vertex);
+    }
+
+    public void placeRoad(int edge, Color color) {
+        set(roads, color.ordinal() * edgeWords, edge);
+        set(occupiedEdges, 0, edge);
+    }
+
+    public void removeRoad(int edge, Color color) {
+        clear(roads, color.ordinal() * edgeWords, edge);
+        clear(occupiedEdges, 0, edge);
+    }
+
+    public void clearVertex(int vertex) {
+        for (Color color : Color.values()) {
+            clear(settlements, color.ordinal() * vertexWords, vertex);
+            clear(cities, color.ordinal() * vertexWords, vertex);
+        }
+        clear(occupiedVertices, 0, vertex);
+    }
+
+    private boolean hasAdjacentBuilding(int vertex) {
+        Topology.Adjacency vertexVertices = topology.vertexVertices();
+        for (int word = 0; word < vertexWords; word++) {
+            if ((vertexVertices.mask(vertex, word) & occupiedVertices[word]) != 0) return true;
+        }
+
+        return false;
+    }
+
+    private boolean hasIncidentRoad(int vertex, Color color) {
+        Topology.Adjacency vertexEdges = topology.vertexEdges();
+        int colorEdges = color.ordinal() * edgeWords;
+        for (int word = 0; word < edgeWords; word++) {
+            if ((vertexEdges.mask(vertex, word) & roads[colorEdges + word]) != 0) return true;
+        }
+
+        return false;
+    }
+
+    private static int count(long[] bits, int offset, int words) {
+        int count = 0;
+        for (int word = 0; word < words; word++) {
+            count += Long.bitCount(bits[offset + word]);
+        }
+
+        return count;
+    }
+
+    private static boolean isSet(long[] bits, int offset, int index) {
+        return (bits[offset + (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int offset, int index) {
+        bits[offset + (index >>> 6)] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int offset, int index) {
+        bits[offset + (index >>> 6)] &= ~(1L << index);
+    }
+}
@@ -1,52 +1,135 @@
 package com.settlers.game;
 
 import java.util.*;
-import java.util.function.Function;
 
 public class Board {
-    private final Map<Coordinate, Tile> tiles;
+    private static final Color[] COLORS = Color.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // everything but the pieces and the robber lives in the shared terrain, and the pieces live in the bitboard
+    private final Terrain terrain;
+    private final Topology topology;
+    private final Bitboard bitboard;
+    private final LongestRoad longestRoad;
     private Coordinate robber;
+    private int robberTile;
+    private long modCount;
+    private long hash;
+    private Journal journal;
+
+    private Board(Terrain terrain, int robberTile, Building[] buildings, Road[] roads) {
+        this.terrain = terrain;
+        this.topology = terrain.getTopology();
+        this.bitboard = new Bitboard(topology);
+        this.robber = robberTile < 0 ? null : topology.getCoordinate(robberTile);
+        this.robberTile = robberTile;
+
+        for (int vertex = 0; vertex < buildings.length; vertex++) {
+            if (buildings[vertex] != null) placeOnBitboard(vertex, buildings[vertex]);
+        }
+        for (int edge = 0; edge < roads.length; edge++) {
+            if (roads[edge] != null) bitboard.placeRoad(edge, roads[edge].color());
+        }
+        this.longestRoad = new LongestRoad(topology, bitboard);
+        this.hash = computeHash();
+    }
 
-    private Board(Map<Coordinate, Tile> tiles, Coordinate robber) {
-        this.tiles = Objects.requireNonNull(tiles);
-        this.robber = robber;
+    private Board(Board other) {
+        this.terrain = other.terrain;
+        this.topology = other.topology;
+        this.bitboard = new Bitboard(other.bitboard);
+        this.longestRoad = new LongestRoad(other.longestRoad, bitboard);
+        this.robber = other.robber;
+        this.robberTile = other.robberTile;
+        this.modCount = other.modCount;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Creates a board on the given terrain with the given pieces, indexed by vertex and edge id.
+     */
+    static Board of(Terrain terrain, int robberTile, Building[] buildings, Road[] roads) {
+        return new Board(terrain, robberTile, buildings, roads);
     }
 
     public static Builder builder() {
         return new Builder();
     }
 
+    /**
+     * Returns an independent copy of this board. Changes to either board are not visible in the other.
+     */
+    public Board copy() {
+        return new Board(this);
+    }
+
+    public Terrain getTerrain() {
+        return terrain;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public Bitboard getBitboard() {
+        return bitboard;
+    }
+
+    public long modCount() {
+        return modCount;
+    }
+
+    public long hash() {
+        return hash;
+    }
+
+    long computeHash() {
+        long hash = robberTile < 0 ? 0 : Zobrist.robber(robberTile);
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            Building building = getBuilding(vertex);
+            if (building != null) hash ^= Zobrist.building(vertex, building);
+        }
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            Road road = getRoad(edge);
+            if (road != null) hash ^= Zobrist.road(edge, road.color());
+        }
+
+        return hash;
+    }
+
     public Optional<Road> getRoad(Position position) {
-        return getEdge(position, Tile::roads);
+        assert position != null;
+        int edge = topology.getEdge(position);
+        if (edge < 0) return Optional.empty();
+
+        return Optional.ofNullable(getRoad(edge));
     }
 
     public boolean addRoad(Position position, Road road) {
         assert position != null;
         assert road != null;
-        if (getRoad(position).isPresent()) return false;
-
-        boolean hasAdjacentBuilding = position.getAdjacentVerticesForEdge()
-                .stream()
-                .map(this::getBuilding)
-                .flatMap(Optional::stream)
-                .anyMatch(building -> building.color() == road.color());
+        int edge = topology.getEdge(position);
+        if (edge < 0) return false;
+        if (!bitboard.canPlaceRoad(edge, road.color())) return false;
 
-        boolean hasAdjacentRoad = position.getAdjacentEdgesForEdge()
-                .stream()
-                .map(this::getRoad)
-                .flatMap(Optional::stream)
-                .anyMatch(adjacentRoad -> adjacentRoad.color() == road.color());
-
-        if (!hasAdjacentBuilding && !hasAdjacentRoad) return false;
-
-        Tile tile = tiles.get(position.coordinate());
-        tile.roads().put(position.direction(), road);
+        if (isRecording()) {
+            int previousLength = longestRoad.get(road.color());
+            journal.record(() -> removeRoad(edge, road.color(), previousLength));
+        }
+        bitboard.placeRoad(edge, road.color());
+        hash ^= Zobrist.road(edge, road.color());
+        modCount++;
+        longestRoad.roadAdded(edge, road.color());
 
         return true;
     }
 
     public Optional<Building> getBuilding(Position position) {
-        return getVertex(position, Tile::buildings);
+        assert position != null;
+        int vertex = topology.getVertex(position);
+        if (vertex < 0) return Optional.empty();
+
+        return Optional.ofNullable(getBuilding(vertex));
     }
 
     public boolean addBuilding(Position position, Building building) {
@@ -56,81 +139,154 @@ public class Board {
     public boolean addBuilding(Position position, Building building, boolean isSetupPhase) {
         assert position != null;
         assert building != null;
-
-        Optional<Building> presentBuilding = getBuilding(position);
-        if (building.type() == Building.Type.SETTLEMENT && presentBuilding.isPresent()) {
-            return false;
+        int vertex = topology.getVertex(position);
+        if (vertex < 0) return false;
+
+        boolean canPlace = switch (building.type()) {
+            case SETTLEMENT -> bitboard.canPlaceSettlement(vertex, building.color(), isSetupPhase);
+            case CITY -> bitboard.canPlaceCity(vertex, building.color(), isSetupPhase);
+        };
+        if (!canPlace) return false;
+
+        Building presentBuilding = getBuilding(vertex);
+        if (isRecording()) {
+            int[] longestRoads = longestRoad.getLengths();
+            journal.record(() -> restoreBuilding(vertex, presentBuilding, longestRoads));
         }
+        placeOnBitboard(vertex, building);
+        if (presentBuilding != null) hash ^= Zobrist.building(vertex, presentBuilding);
+        hash ^= Zobrist.building(vertex, building);
+        modCount++;
+        if (presentBuilding == null) longestRoad.buildingChanged(vertex);
 
-        if (building.type() == Building.Type.CITY &&
-           (presentBuilding.isEmpty() ||
-            presentBuilding.get().color() != building.color() ||
-            presentBuilding.get().type() != Building.Type.SETTLEMENT)) {
-            return false;
+        return true;
+    }
+
+    Building getBuilding(int vertex) {
+        if (!bitboard.hasBuilding(vertex)) return null;
+
+        for (Color color : COLORS) {
+            if (bitboard.hasSettlement(vertex, color)) return Building.of(color, Building.Type.SETTLEMENT);
+            if (bitboard.hasCity(vertex, color)) return Building.of(color, Building.Type.CITY);
         }
-        boolean hasAdjacentBuilding = position.getAdjacentVerticesForVertex()
-                .stream()
-                .map(this::getBuilding)
-                .anyMatch(Optional::isPresent);
-        if (hasAdjacentBuilding) return false;
 
-        if (!isSetupPhase) {
-            boolean hasAdjacentRoad = position.getAdjacentEdgesForVertex()
-                    .stream()
-                    .map(this::getRoad)
-                    .flatMap(Optional::stream)
-                    .anyMatch(road -> road.color() == building.color());
-            if (!hasAdjacentRoad) return false;
+        throw new IllegalStateException("Vertex " + vertex + " is occupied without a building");
+    }
+
+    Road getRoad(int edge) {
+        if (!bitboard.hasRoad(edge)) return null;
+
+        for (Color color : COLORS) {
+            if (bitboard.hasRoad(edge, color)) return Road.of(color);
         }
 
-        Tile tile = tiles.get(position.coordinate());
-        tile.buildings().put(position.direction(), building);
+        throw new IllegalStateException("Edge " + edge + " is occupied without a road");
+    }
 
-        return true;
+    Harbor getHarbor(int vertex) {
+        return terrain.getHarbor(vertex);
+    }
+
+    Resource getResource(int tile) {
+        return terrain.getResource(tile);
+    }
+
+    int getNumber(int tile) {
+        return terrain.getNumber(tile);
+    }
+
+    int getRobberTile() {
+        return robberTile;
     }
 
     public Optional<Harbor> getHarbor(Position position) {
-        return getVertex(position, Tile::harbors);
+        assert position != null;
+        int vertex = topology.getVertex(position);
+        if (vertex < 0) return Optional.empty();
+
+        return Optional.ofNullable(terrain.getHarbor(vertex));
     }
 
     public Collection<Coordinate> getCoordinates(int number) {
-        return tiles.entrySet()
-                .stream()
-                .filter(entry -> entry.getValue().number() == number)
-                .map(Map.Entry::getKey)
-                .toList();
+        Collection<Coordinate> coordinates = new ArrayList<>();
+        for (int tile = 0; tile < topology.tileCount(); tile++) {
+            if (terrain.getNumber(tile) == number) coordinates.add(topology.getCoordinate(tile));
+        }
+
+        return Collections.unmodifiableCollection(coordinates);
+    }
+
+    public void produce(int number, Production production) {
+        assert production != null;
+        if (number < 2 || number > 12) return;
+
+        for (int i = terrain.productionStart(number); i < terrain.productionEnd(number); i++) {
+            int tile = terrain.productionTile(i);
+            if (tile == robberTile) continue;
+            for (Color color : COLORS) {
+                int amount = 0;
+                for (int word = 0; word < topology.vertexWords(); word++) {
+                    long tileVertices = topology.tileVertexMask(tile, word);
+                    amount += Long.bitCount(bitboard.settlementMask(color, word) & tileVertices) * Building.Type.SETTLEMENT.resources();
+                    amount += Long.bitCount(bitboard.cityMask(color, word) & tileVertices) * Building.Type.CITY.resources();
+                }
+                if (amount > 0) production.accept(color, terrain.getResource(tile), amount);
+            }
+        }
     }
 
     public Collection<Building> getBuildings(Coordinate coordinate, Color color) {
         assert coordinate != null;
         assert color != null;
 
-        if (tiles.get(coordinate) == null) {
+        int tile = topology.getTile(coordinate);
+        if (tile < 0) {
             return Collections.emptyList();
         }
 
-        Set<Building> buildings = new HashSet<>();
+        Collection<Building> tileBuildings = new ArrayList<>();
         for (Direction direction : Direction.values()) {
-            getBuilding(Position.of(coordinate, direction)).filter(building -> building.color() == color).ifPresent(buildings::add);
+            Building building = getBuilding(topology.getVertex(tile, direction));
+            if (building == null) continue;
+            if (building.color() == color) tileBuildings.add(building);
         }
 
-        return Collections.unmodifiableCollection(buildings);
+        return Collections.unmodifiableCollection(tileBuildings);
     }
 
     public Collection<Building> getBuildings(Color color) {
-        Collection<Building> buildings = new ArrayList<>();
-        for (Tile tile : tiles.values()) {
-            for (Building building : tile.buildings().values()) {
-                if (building == null) continue;
-                if (building.color() == color) buildings.add(building);
-            }
+        Collection<Building> colorBuildings = new ArrayList<>();
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            Building building = getBuilding(vertex);
+            if (building == null) continue;
+            if (building.color() == color) colorBuildings.add(building);
         }
 
-        return buildings;
+        return colorBuildings;
+    }
+
+    public int getBuildingPoints(Color color) {
+        return bitboard.countSettlements(color) * Building.Type.SETTLEMENT.resources() +
+                bitboard.countCities(color) * Building.Type.CITY.resources();
     }
 
+    /**
+     * Returns a snapshot of a tile with the pieces currently around it.
+     */
     public Optional<Tile> getTile(Coordinate coordinate) {
-        return Optional.ofNullable(tiles.get(coordinate));
+        int tile = topology.getTile(coordinate);
+        if (tile < 0) return Optional.empty();
+
+        Tile.Builder builder = Tile.builder();
+        for (Direction direction : DIRECTIONS) {
+            int vertex = topology.getVertex(tile, direction);
+            int edge = topology.getEdge(tile, direction);
+            if (getBuilding(vertex) != null) builder.addBuilding(direction, getBuilding(vertex));
+            if (terrain.getHarbor(vertex) != null) builder.addHarbor(direction, terrain.getHarbor(vertex));
+            if (getRoad(edge) != null) builder.addRoad(direction, getRoad(edge));
+        }
+
+        return Optional.of(builder.build(terrain.getResource(tile), terrain.getNumber(tile)));
     }
 
     public Coordinate getRobber() {
@@ -139,92 +295,88 @@ public class Board {
 
     public boolean setRobber(Coordinate coordinate) {
         assert coordinate != null;
-        if (!tiles.containsKey(coordinate)) return false;
+        if (topology.getTile(coordinate) < 0) return false;
         if (coordinate.equals(robber)) return false;
 
-        robber = coordinate;
+        if (isRecording()) {
+            Coordinate previousRobber = robber;
+            journal.record(() -> moveRobber(previousRobber));
+        }
+        moveRobber(coordinate);
         return true;
     }
 
     public boolean hasHarbor(Player player, Harbor harbor) {
         assert player != null;
         assert harbor != null;
-        for (Map.Entry<Coordinate, Tile> entry : tiles.entrySet()) {
-            for (Map.Entry<Direction, Harbor> harborEntry : entry.getValue().harbors().entrySet()) {
-                if (!harbor.equals(harborEntry.getValue())) continue;
-                Optional<Building> building = getBuilding(Position.of(entry.getKey(), harborEntry.getKey()));
-                if (building.isEmpty()) continue;
-                if (!building.get().color().equals(player.color())) continue;
-
-                return true;
-            }
-        }
+        return hasHarbor(player.color(), harbor);
+    }
 
-        return false;
+    public int getExchangeRatio(Color color, Resource resource) {
+        assert color != null;
+        assert resource != null;
+        if (resource != Resource.NOTHING && hasHarbor(color, Harbor.of(resource))) return 2;
+
+        return hasHarbor(color, Harbor.ANY) ? 3 : 4;
     }
 
     public int getLongestRoad(Player player) {
-        int longestRoad = 0;
-        for (Map.Entry<Coordinate, Tile> tileEntry : tiles.entrySet()) {
-            for (Map.Entry<Direction, Road> roadEntry : tileEntry.getValue().roads().entrySet()) {
-                if (!(roadEntry.getValue().color() == player.color())) continue;
-                int roadLength = getLongestRoad(player, Position.of(tileEntry.getKey(), roadEntry.getKey()), new HashSet<>());
-                if (roadLength > longestRoad) longestRoad = roadLength;
-            }
-        }
-        return longestRoad;
+        assert player != null;
+        return longestRoad.get(player.color());
     }
 
-    private int getLongestRoad(Player player, Position position, Set<Position> visited) {
-        visited.add(position);
-        Collection<Position> adjacentPositions = new ArrayList<>(position.getAdjacentEdgesForEdge());
-        visited.forEach(visitedPosition -> adjacentPositions.removeIf(visitedPosition::isSameEdge));
-        for (Position adjacentPosition : adjacentPositions) {
-            Optional<Road> adjacentRoad = getRoad(adjacentPosition);
-            if (adjacentRoad.isEmpty()) continue;
-            if (!(adjacentRoad.get().color() == player.color())) continue;
-            return 1 + getLongestRoad(player, adjacentPosition, visited);
-        }
-
-        return 1;
+    void setJournal(Journal journal) {
+        this.journal = journal;
     }
 
-    private <T> Optional<T> getVertex(Position position, Function<Tile, Map<Direction, T>> mapper) {
-        assert position != null;
-        assert mapper != null;
+    private boolean isRecording() {
+        return journal != null && journal.isRecording();
+    }
 
-        Collection<Position> vertexPositions = position.getPositionsForVertex();
-        for (Position vertexPosition : vertexPositions) {
-            Coordinate vertexCoordinate = vertexPosition.coordinate();
-            Direction vertexDirection = vertexPosition.direction();
-            Tile tile = tiles.get(vertexCoordinate);
-            if (tile == null) continue;
-            Map<Direction, T> map = mapper.apply(tile);
-            T vertex = map.get(vertexDirection);
-            if (vertex == null) continue;
-            return Optional.of(vertex);
+    private boolean hasHarbor(Color color, Harbor harbor) {
+        for (int word = 0; word < topology.vertexWords(); word++) {
+            long buildings = bitboard.settlementMask(color, word) | bitboard.cityMask(color, word);
+            if ((buildings & terrain.harborVertices(harbor, word)) != 0) return true;
         }
 
-        return Optional.empty();
+        return false;
     }
 
-    private <T> Optional<T> getEdge(Position position, Function<Tile, Map<Direction, T>> mapper) {
-        assert position != null;
-        assert mapper != null;
+    private void removeRoad(int edge, Color color, int previousLength) {
+        bitboard.removeRoad(edge, color);
+        hash ^= Zobrist.road(edge, color);
+        longestRoad.roadRemoved(color, previousLength);
+        modCount++;
+    }
+
+    private void restoreBuilding(int vertex, Building presentBuilding, int[] longestRoads) {
+        Building building = getBuilding(vertex);
+        bitboard.clearVertex(vertex);
+        if (presentBuilding != null) placeOnBitboard(vertex, presentBuilding);
+        hash ^= Zobrist.building(vertex, building);
+        if (presentBuilding != null) hash ^= Zobrist.building(vertex, presentBuilding);
+        longestRoad.setLengths(longestRoads);
+        modCount++;
+    }
+
+    private void moveRobber(Coordinate coordinate) {
+        if (robberTile >= 0) hash ^= Zobrist.robber(robberTile);
+        robber = coordinate;
+        robberTile = coordinate == null ? -1 : topology.getTile(coordinate);
+        if (robberTile >= 0) hash ^= Zobrist.robber(robberTile);
+        modCount++;
+    }
 
-        Collection<Position> edgePositions = position.getPositionsForEdge();
-        for (Position edgePosition : edgePositions) {
-            Coordinate edgeCoordinate = edgePosition.coordinate();
-            Direction edgeDirection = edgePosition.direction();
-            Tile tile = tiles.get(edgeCoordinate);
-            if (tile == null) continue;
-            Map<Direction, T> map = mapper.apply(tile);
-            T t = map.get(edgeDirection);
-            if (t == null) continue;
-            return Optional.of(t);
+    private void placeOnBitboard(int vertex, Building building) {
+        switch (building.type()) {
+            case SETTLEMENT -> bitboard.placeSettlement(vertex, building.color());
+            case CITY -> bitboard.placeCity(vertex, building.color());
         }
+    }
 
-        return Optional.empty();
+    @FunctionalInterface
+    public interface Production {
+        void accept(Color color, Resource resource, int amount);
     }
 
     public static final class Builder {
@@ -234,7 +386,27 @@ public class Board {
         private Builder() {}
 
         public Board build() {
-            return new Board(tiles, robber);
+            Topology topology = Topology.of(tiles.keySet());
+            Resource[] resources = new Resource[topology.tileCount()];
+            int[] numbers = new int[topology.tileCount()];
+            Harbor[] harbors = new Harbor[topology.vertexCount()];
+            Building[] buildings = new Building[topology.vertexCount()];
+            Road[] roads = new Road[topology.edgeCount()];
+            for (int tile = 0; tile < topology.tileCount(); tile++) {
+                Tile t = tiles.get(topology.getCoordinate(tile));
+                resources[tile] = t.resource();
+                numbers[tile] = t.number();
+                for (Direction direction : DIRECTIONS) {
+                    int vertex = topology.getVertex(tile, direction);
+                    int edge = topology.getEdge(tile, direction);
+                    if (buildings[vertex] == null) buildings[vertex] = t.buildings().get(direction);
+                    if (harbors[vertex] == null) harbors[vertex] = t.harbors().get(direction);
+                    if (roads[edge] == null) roads[edge] = t.roads().get(direction);
+                }
+            }
+            int robberTile = robber == null ? -1 : topology.getTile(robber);
+
+            return new Board(Terrain.of(topology, resources, numbers, harbors), robberTile, buildings, roads);
         }
 
         public Builder addTile(Coordinate coordinate, Tile tile) {
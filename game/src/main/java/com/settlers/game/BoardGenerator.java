@@ -0,0 +1,324 @@
+package com.settlers.game;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+/**
+ * Generates standard 19-tile boards with shuffled resources, number tokens and harbors.
+ *
+ * <p>6s and 8s are placed first, each on a tile not adjacent to another one, and the remaining tokens are shuffled
+ * over the tiles left. Layouts breaking the per-resource pip bound are rejected and resampled. Sampling works on
+ * small int arrays, so {@link #nextLayout()} is cheap; materialising a {@link Board} costs more than sampling it.
+ *
+ * <p>A generator is not thread-safe. Use {@link #split()} to hand independent generators to other threads.
+ */
+public final class BoardGenerator {
+    private static final int MAX_ATTEMPTS = 100_000;
+    private static final Coordinate[] COORDINATES;
+    private static final int[][] NEIGHBOURS;
+    private static final int[] HARBOR_TILES;
+    private static final Direction[] HARBOR_EDGES;
+    private static final Resource[] RESOURCES;
+    private static final int[] NUMBERS = {2, 3, 3, 4, 4, 5, 5, 9, 9, 10, 10, 11, 11, 12};
+    private static final int[] RED_NUMBERS = {6, 6, 8, 8};
+    private static final Harbor[] HARBORS = {
+            Harbor.ANY, Harbor.ANY, Harbor.ANY, Harbor.ANY,
+            Harbor.BRICK, Harbor.LUMBER, Harbor.ORE, Harbor.GRAIN, Harbor.WOOL
+    };
+    // coastal edges holding a harbor, as indices into the 30 coastal edges in order around the coast
+    private static final int[] HARBOR_SLOTS = {0, 3, 6, 10, 13, 16, 20, 23, 26};
+    private static final int[][] OFFSETS = {{1, -1}, {1, 0}, {0, 1}, {-1, 1}, {-1, 0}, {0, -1}};
+
+    static {
+        int tiles = 0;
+        Coordinate[] coordinates = new Coordinate[19];
+        for (int r = -2; r <= 2; r++) {
+            for (int q = -2; q <= 2; q++) {
+                if (Math.abs(q + r) > 2) continue;
+                coordinates[tiles++] = Coordinate.of(q, r);
+            }
+        }
+        COORDINATES = coordinates;
+
+        NEIGHBOURS = new int[COORDINATES.length][];
+        int coastalEdges = 0;
+        int[] coastalTiles = new int[30];
+        Direction[] coastalDirections = new Direction[30];
+        for (int tile = 0; tile < COORDINATES.length; tile++) {
+            int[] neighbours = new int[6];
+            int count = 0;
+            for (Direction direction : Direction.values()) {
+                int neighbour = indexOf(neighbour(COORDINATES[tile], direction));
+                if (neighbour >= 0) {
+                    neighbours[count++] = neighbour;
+                } else {
+                    coastalTiles[coastalEdges] = tile;
+                    coastalDirections[coastalEdges++] = direction;
+                }
+            }
+            NEIGHBOURS[tile] = Arrays.copyOf(neighbours, count);
+        }
+
+        // walk around the coast, ordering coastal edges by the angle of their midpoint
+        Integer[] order = new Integer[coastalEdges];
+        for (int i = 0; i < coastalEdges; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble(i -> angle(COORDINATES[coastalTiles[i]], coastalDirections[i])));
+        HARBOR_TILES = new int[HARBOR_SLOTS.length];
+        HARBOR_EDGES = new Direction[HARBOR_SLOTS.length];
+        for (int i = 0; i < HARBOR_SLOTS.length; i++) {
+            HARBOR_TILES[i] = coastalTiles[order[HARBOR_SLOTS[i]]];
+            HARBOR_EDGES[i] = coastalDirections[order[HARBOR_SLOTS[i]]];
+        }
+
+        RESOURCES = new Resource[COORDINATES.length];
+        int index = 0;
+        for (int i = 0; i < 4; i++) {
+            RESOURCES[index++] = Resource.LUMBER;
+            RESOURCES[index++] = Resource.WOOL;
+            RESOURCES[index++] = Resource.GRAIN;
+        }
+        for (int i = 0; i < 3; i++) {
+            RESOURCES[index++] = Resource.BRICK;
+            RESOURCES[index++] = Resource.ORE;
+        }
+        RESOURCES[index] = Resource.NOTHING;
+    }
+
+    private final SplittableRandom rng;
+    private final boolean isAdjacentRedNumbersAllowed;
+    private final int maxResourcePips;
+
+    private BoardGenerator(SplittableRandom rng, boolean isAdjacentRedNumbersAllowed, int maxResourcePips) {
+        this.rng = rng;
+        this.isAdjacentRedNumbersAllowed = isAdjacentRedNumbersAllowed;
+        this.maxResourcePips = maxResourcePips;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static BoardGenerator of(long seed) {
+        return builder().setSeed(seed).build();
+    }
+
+    /**
+     * Returns a generator with the same constraints and an independent random stream.
+     */
+    public BoardGenerator split() {
+        return new BoardGenerator(rng.split(), isAdjacentRedNumbersAllowed, maxResourcePips);
+    }
+
+    public Board next() {
+        return nextLayout().toBoard();
+    }
+
+    public Layout nextLayout() {
+        Resource[] resources = RESOURCES.clone();
+        int[] numbers = new int[COORDINATES.length];
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            shuffle(resources);
+            if (placeNumbers(resources, numbers) && isWithinPipBound(resources, numbers)) {
+                Harbor[] harbors = HARBORS.clone();
+                shuffle(harbors);
+                return new Layout(resources, numbers, harbors);
+            }
+        }
+
+        throw new IllegalStateException("No board satisfies the constraints");
+    }
+
+    private boolean placeNumbers(Resource[] resources, int[] numbers) {
+        Arrays.fill(numbers, 0);
+        for (int tile = 0; tile < resources.length; tile++) {
+            if (resources[tile] == Resource.NOTHING) numbers[tile] = 7;
+        }
+
+        for (int redNumber : RED_NUMBERS) {
+            // pick uniformly among the free tiles that can take a red number
+            int chosen = -1;
+            int candidates = 0;
+            for (int tile = 0; tile < numbers.length; tile++) {
+                if (numbers[tile] != 0) continue;
+                if (!isAdjacentRedNumbersAllowed && hasRedNeighbour(numbers, tile)) continue;
+                if (rng.nextInt(++candidates) == 0) chosen = tile;
+            }
+            if (chosen < 0) return false;
+            numbers[chosen] = redNumber;
+        }
+
+        int[] remaining = NUMBERS.clone();
+        shuffle(remaining);
+        int next = 0;
+        for (int tile = 0; tile < numbers.length; tile++) {
+            if (numbers[tile] == 0) numbers[tile] = remaining[next++];
+        }
+
+        return true;
+    }
+
+    private boolean isWithinPipBound(Resource[] resources, int[] numbers) {
+        if (maxResourcePips == Integer.MAX_VALUE) return true;
+
+        int[] pips = new int[Resource.values().length];
+        for (int tile = 0; tile < resources.length; tile++) {
+            if (resources[tile] == Resource.NOTHING) continue;
+            pips[resources[tile].ordinal()] += pips(numbers[tile]);
+        }
+        for (int resourcePips : pips) {
+            if (resourcePips > maxResourcePips) return false;
+        }
+
+        return true;
+    }
+
+    private static boolean hasRedNeighbour(int[] numbers, int tile) {
+        for (int neighbour : NEIGHBOURS[tile]) {
+            if (numbers[neighbour] == 6 || numbers[neighbour] == 8) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * The number of dice combinations that roll the number, out of 36.
+     */
+    static int pips(int number) {
+        return number == 7 ? 0 : 6 - Math.abs(7 - number);
+    }
+
+    private <T> void shuffle(T[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            T value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static Coordinate neighbour(Coordinate coordinate, Direction direction) {
+        int[] offset = OFFSETS[direction.ordinal()];
+        return Coordinate.of(coordinate.q() + offset[0], coordinate.r() + offset[1]);
+    }
+
+    private static int indexOf(Coordinate coordinate) {
+        for (int tile = 0; tile < COORDINATES.length; tile++) {
+            if (COORDINATES[tile].equals(coordinate)) return tile;
+        }
+
+        return -1;
+    }
+
+    private static double angle(Coordinate coordinate, Direction direction) {
+        int[] offset = OFFSETS[direction.ordinal()];
+        double q = coordinate.q() + offset[0] / 2.0;
+        double r = coordinate.r() + offset[1] / 2.0;
+        return Math.atan2(r * Math.sqrt(3) / 2, q + r / 2);
+    }
+
+    /**
+     * A sampled board: the resource and number of every tile, and the harbor of every harbor slot.
+     */
+    public static final class Layout {
+        private final Resource[] resources;
+        private final int[] numbers;
+        private final Harbor[] harbors;
+
+        private Layout(Resource[] resources, int[] numbers, Harbor[] harbors) {
+            this.resources = resources;
+            this.numbers = numbers;
+            this.harbors = harbors;
+        }
+
+        public int tileCount() {
+            return COORDINATES.length;
+        }
+
+        public Coordinate getCoordinate(int tile) {
+            return COORDINATES[tile];
+        }
+
+        public Resource getResource(int tile) {
+            return resources[tile];
+        }
+
+        public int getNumber(int tile) {
+            return numbers[tile];
+        }
+
+        public int getResourcePips(Resource resource) {
+            int resourcePips = 0;
+            for (int tile = 0; tile < resources.length; tile++) {
+                if (resources[tile] == resource) resourcePips += pips(numbers[tile]);
+            }
+
+            return resourcePips;
+        }
+
+        public Board toBoard() {
+            Topology topology = Topology.of(Arrays.asList(COORDINATES));
+            Resource[] tileResources = new Resource[COORDINATES.length];
+            int[] tileNumbers = new int[COORDINATES.length];
+            int robber = -1;
+            for (int tile = 0; tile < COORDINATES.length; tile++) {
+                int id = topology.getTile(COORDINATES[tile]);
+                tileResources[id] = resources[tile];
+                tileNumbers[id] = numbers[tile];
+                if (resources[tile] == Resource.NOTHING) robber = id;
+            }
+            Harbor[] vertexHarbors = new Harbor[topology.vertexCount()];
+            for (int slot = 0; slot < harbors.length; slot++) {
+                // a harbor on a coastal edge serves both of its vertices
+                int tile = topology.getTile(COORDINATES[HARBOR_TILES[slot]]);
+                Direction edge = HARBOR_EDGES[slot];
+                Direction next = Direction.values()[(edge.ordinal() + 1) % Direction.values().length];
+                vertexHarbors[topology.getVertex(tile, edge)] = harbors[slot];
+                vertexHarbors[topology.getVertex(tile, next)] = harbors[slot];
+            }
+
+            Terrain terrain = Terrain.of(topology, tileResources, tileNumbers, vertexHarbors);
+            return Board.of(terrain, robber, new Building[topology.vertexCount()], new Road[topology.edgeCount()]);
+        }
+    }
+
+    public static final class Builder {
+        private long seed = System.nanoTime();
+        private boolean isAdjacentRedNumbersAllowed = false;
+        private int maxResourcePips = Integer.MAX_VALUE;
+
+        private Builder() {}
+
+        public BoardGenerator build() {
+            return new BoardGenerator(new SplittableRandom(seed), isAdjacentRedNumbersAllowed, maxResourcePips);
+        }
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder setAdjacentRedNumbersAllowed(boolean isAdjacentRedNumbersAllowed) {
+            this.isAdjacentRedNumbersAllowed = isAdjacentRedNumbersAllowed;
+            return this;
+        }
+
+        /**
+         * Upper bound on the pips (dice combinations out of 36) summed over all tiles of each resource.
+         */
+        public Builder setMaxResourcePips(int maxResourcePips) {
+            assert maxResourcePips > 0;
+            this.maxResourcePips = maxResourcePips;
+            return this;
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.settlers.game;
 
 public record Building(Color color, Type type) {
+    private static final Building[] BUILDINGS = new Building[Color.values().length * Type.values().length];
+
+    static {
+        for (Color color : Color.values()) {
+            for (Type type : Type.values()) {
+                BUILDINGS[color.ordinal() * Type.values().length + type.ordinal()] = new Building(color, type);
+            }
+        }
+    }
+
     public Building {
         assert color != null;
         assert type != null;
     }
 
     public static Building of(Color color, Type type) {
-        return new Building(color, type);
+        return BUILDINGS[color.ordinal() * Type.values().length + type.ordinal()];
     }
 
     public enum Type {
@@ -1,7 +1,30 @@
 package com.settlers.game;
 
 public record Coordinate(int q, int r) {
+    // q and r take 14 bits each when packed, which covers boards far larger than any real layout
+    private static final int BITS = 14;
+    private static final int MIN = -(1 << BITS - 1);
+    private static final int MAX = (1 << BITS - 1) - 1;
+    private static final int MASK = (1 << BITS) - 1;
+
     public static Coordinate of(int q, int r) {
         return new Coordinate(q, r);
     }
+
+    /**
+     * Packs a coordinate into the low 28 bits of an int, or returns -1 if it is out of the packable range.
+     */
+    public static int pack(int q, int r) {
+        if (q < MIN || q > MAX || r < MIN || r > MAX) return -1;
+
+        return (q & MASK) << BITS | r & MASK;
+    }
+
+    public static Coordinate unpack(int packed) {
+        return of(packed << 32 - 2 * BITS >> 32 - BITS, packed << 32 - BITS >> 32 - BITS);
+    }
+
+    public int pack() {
+        return pack(q, r);
+    }
 }
@@ -0,0 +1,119 @@
+package com.settlers.game;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The development cards left to buy, held as card ordinals in one array with a cursor at the top card. Drawing only
+ * moves the cursor, so it allocates nothing and is undone by moving it back, and shuffling permutes the cards below
+ * the cursor in place.
+ */
+public final class DevelopmentDeck {
+    private static final DevelopmentCard[] CARDS = DevelopmentCard.values();
+
+    private byte[] cards;
+    private int top;
+
+    private DevelopmentDeck(byte[] cards, int top) {
+        this.cards = cards;
+        this.top = top;
+    }
+
+    /**
+     * Returns a deck with the given cards, the first card on top.
+     */
+    public static DevelopmentDeck of(List<DevelopmentCard> developmentCards) {
+        assert developmentCards != null;
+        byte[] cards = new byte[developmentCards.size()];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) developmentCards.get(i).ordinal();
+        }
+
+        return new DevelopmentDeck(cards, 0);
+    }
+
+    /**
+     * Returns a deck of card ordinals, the first on top. The array is owned by the deck afterwards.
+     */
+    static DevelopmentDeck of(byte[] cards) {
+        return new DevelopmentDeck(cards, 0);
+    }
+
+    DevelopmentDeck copy() {
+        return new DevelopmentDeck(cards.clone(), top);
+    }
+
+    /**
+     * Makes this deck equal to a copy taken earlier, to revert a shuffle.
+     */
+    void restore(DevelopmentDeck other) {
+        this.cards = other.cards;
+        this.top = other.top;
+    }
+
+    public int size() {
+        return cards.length - top;
+    }
+
+    public boolean isEmpty() {
+        return top == cards.length;
+    }
+
+    /**
+     * Returns the card at the given depth, the top card being at depth 0.
+     */
+    public DevelopmentCard get(int depth) {
+        assert 0 <= depth && depth < size();
+        return CARDS[cards[top + depth]];
+    }
+
+    public int count(DevelopmentCard developmentCard) {
+        int count = 0;
+        for (int i = top; i < cards.length; i++) {
+            if (cards[i] == developmentCard.ordinal()) count++;
+        }
+
+        return count;
+    }
+
+    DevelopmentCard draw() {
+        assert !isEmpty();
+        return CARDS[cards[top++]];
+    }
+
+    void undraw() {
+        assert top > 0;
+        top--;
+    }
+
+    /**
+     * Shuffles the cards left in the deck with a Fisher-Yates shuffle. Cards already drawn are not touched.
+     */
+    void shuffle(RandomGenerator random) {
+        for (int i = cards.length - 1; i > top; i--) {
+            int j = top + random.nextInt(i - top + 1);
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof DevelopmentDeck deck)) return false;
+
+        return Arrays.equals(cards, top, cards.length, deck.cards, deck.top, deck.cards.length);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = top; i < cards.length; i++) {
+            hash = 31 * hash + cards[i];
+        }
+
+        return hash;
+    }
+}
@@ -3,43 +3,185 @@ package com.settlers.game;
 import com.settlers.game.dice.Dice;
 import com.settlers.game.dice.RandomDice;
 import com.settlers.game.states.DetermineStartingPlayer;
+import com.settlers.game.states.LegalMoves;
 import com.settlers.game.states.State;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 public class Game {
     private final Board board;
     private final List<Player> players;
+    private final Player[] playersByColor;
     private final Dice dice;
-    private final Queue<DevelopmentCard> developmentCards;
+    private final GameRandom random;
+    private final DevelopmentDeck developmentCards;
     private int currentPlayer = 0;
     private State state;
     private Player largestArmy;
     private Player longestRoad;
+    private int lastRoll;
+    private int forcedRoll;
+    private Resource forcedSteal;
+    private long version;
+    private final Journal journal = new Journal();
+    private final LegalMoves[] legalMoves = new LegalMoves[Color.values().length];
 
     public Game(Board board,
                 List<Player> players,
                 Dice dice,
-                Queue<DevelopmentCard> developmentCards) {
+                DevelopmentDeck developmentCards) {
+        this(board, players, dice, developmentCards, System.nanoTime());
+    }
+
+    public Game(Board board,
+                List<Player> players,
+                Dice dice,
+                DevelopmentDeck developmentCards,
+                long seed) {
         this.board = Objects.requireNonNull(board);
         this.players = List.copyOf(Objects.requireNonNull(players));
+        this.playersByColor = new Player[Color.values().length];
+        for (Player player : this.players) {
+            playersByColor[player.color().ordinal()] = player;
+        }
         this.dice = Objects.requireNonNull(dice);
-        this.developmentCards = new LinkedList<>(developmentCards);
+        this.random = new GameRandom(seed);
+        this.developmentCards = developmentCards.copy();
         this.state = new DetermineStartingPlayer(this);
         this.largestArmy = null;
         this.longestRoad = null;
+        board.setJournal(journal);
+        for (Player player : this.players) {
+            player.inventory().setJournal(journal);
+        }
+    }
+
+    private Game(Game other, Dice dice) {
+        this.board = other.board.copy();
+        this.playersByColor = new Player[Color.values().length];
+        List<Player> players = new ArrayList<>(other.players.size());
+        for (Player player : other.players) {
+            Player copy = Player.of(player.color(), player.inventory().copy());
+            players.add(copy);
+            playersByColor[copy.color().ordinal()] = copy;
+        }
+        this.players = List.copyOf(players);
+        this.dice = Objects.requireNonNull(dice);
+        this.random = other.random.copy();
+        this.developmentCards = other.developmentCards.copy();
+        this.currentPlayer = other.currentPlayer;
+        this.largestArmy = other.largestArmy == null ? null : playersByColor[other.largestArmy.color().ordinal()];
+        this.longestRoad = other.longestRoad == null ? null : playersByColor[other.longestRoad.color().ordinal()];
+        this.lastRoll = other.lastRoll;
+        this.state = other.state.copy(this);
+        board.setJournal(journal);
+        for (Player player : this.players) {
+            player.inventory().setJournal(journal);
+        }
     }
 
     public static Builder builder() {
         return new Builder();
     }
 
+    /**
+     * Returns an independent copy of this game that shares only immutable data, such as the board topology.
+     * The copy starts without an open mark, and continues with the same random stream as this game.
+     */
+    public Game fork() {
+        return fork(dice);
+    }
+
+    /**
+     * Forks the game with other dice, for example to control the rolls during a search.
+     */
+    public Game fork(Dice dice) {
+        return new Game(this, dice);
+    }
+
     public State getState() {
         return state;
     }
 
     public void setState(State state) {
+        if (journal.isRecording()) {
+            State previousState = this.state;
+            record(() -> this.state = previousState);
+        }
         this.state = state;
+        markChanged();
+    }
+
+    public long getVersion() {
+        long version = this.version + board.modCount();
+        for (Player player : players) {
+            version += player.inventory().modCount();
+        }
+
+        return version;
+    }
+
+    /**
+     * Zobrist hash of the board, every inventory, the current player and the type of the current state.
+     * The board and inventories keep their parts up to date on every mutation, so this only combines them.
+     */
+    public long getHash() {
+        long hash = board.hash() ^ Zobrist.currentPlayer(currentPlayer) ^ Zobrist.state(state.getClass());
+        for (Player player : players) {
+            hash ^= Zobrist.inventory(player.color(), player.inventory().hash());
+        }
+        assert board.hash() == board.computeHash();
+        assert players.stream().allMatch(player -> player.inventory().hash() == player.inventory().computeHash());
+
+        return hash;
+    }
+
+    public void markChanged() {
+        version++;
+    }
+
+    /**
+     * Starts recording changes so they can be reverted with {@link #undo()}.
+     * Marks can be nested; each mark is closed by either undo or commit.
+     */
+    public void mark() {
+        journal.mark();
+    }
+
+    public void undo() {
+        journal.undo();
+        markChanged();
+    }
+
+    public void commit() {
+        journal.commit();
+    }
+
+    public boolean isRecording() {
+        return journal.isRecording();
+    }
+
+    /**
+     * Records how to revert a change to state that lives outside the board and inventories.
+     * Does nothing unless a mark is open.
+     */
+    public void record(Journal.Entry entry) {
+        if (!journal.isRecording()) return;
+        journal.record(() -> {
+            entry.undo();
+            markChanged();
+        });
+    }
+
+    public LegalMoves getLegalMoves(Player player) {
+        LegalMoves moves = legalMoves[player.color().ordinal()];
+        if (moves == null || moves.getVersion() != getVersion()) {
+            moves = LegalMoves.of(this, player);
+            legalMoves[player.color().ordinal()] = moves;
+        }
+
+        return moves;
     }
 
     public Board getBoard() {
@@ -51,7 +193,13 @@ public class Game {
     }
 
     public Player getPlayer(Color color) {
-        return players.stream().filter(player -> player.color() == color).findFirst().orElseThrow();
+        Player player = playersByColor[color.ordinal()];
+        if (player == null) throw new NoSuchElementException("No player with color " + color);
+        return player;
+    }
+
+    public boolean hasPlayer(Color color) {
+        return playersByColor[color.ordinal()] != null;
     }
 
     public List<Player> getPlayers() {
@@ -59,21 +207,125 @@ public class Game {
     }
 
     public void nextPlayer() {
+        recordCurrentPlayer();
         currentPlayer = (currentPlayer + 1) % players.size();
+        markChanged();
     }
 
     public void previousPlayer() {
+        recordCurrentPlayer();
         if (currentPlayer == 0) {
             currentPlayer = players.size() - 1;
         } else {
             currentPlayer--;
         }
+        markChanged();
+    }
+
+    int getCurrentPlayerIndex() {
+        return currentPlayer;
+    }
+
+    Player getLargestArmy() {
+        return largestArmy;
+    }
+
+    Player getLongestRoad() {
+        return longestRoad;
+    }
+
+    DevelopmentDeck getDevelopmentCards() {
+        return developmentCards;
+    }
+
+    long getRandomState() {
+        return random.getState();
+    }
+
+    /**
+     * Restores the turn and the holders of largest army and longest road of a decoded game.
+     */
+    void restore(int currentPlayer, Player largestArmy, Player longestRoad) {
+        assert 0 <= currentPlayer && currentPlayer < players.size();
+        this.currentPlayer = currentPlayer;
+        this.largestArmy = largestArmy;
+        this.longestRoad = longestRoad;
+        markChanged();
     }
 
     public Dice getDice() {
         return dice;
     }
 
+    /**
+     * Returns the source of all randomness in the game. Given the same seed and the same actions, a game plays out
+     * the same way. Draws made by the game itself are reverted by undo; draws made directly on the generator are not.
+     */
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    /**
+     * Restarts the random stream from the given seed, for example so each iteration of a search on a fork samples its
+     * own rolls and steals. Like the draws themselves, it is reverted by undo.
+     */
+    public void reseed(long seed) {
+        recordRandom();
+        random.setState(seed);
+    }
+
+    /**
+     * Rolls the dice. A roll forced with {@link #forceRoll(int)} replaces the outcome, but the dice are still rolled,
+     * so the random stream advances as it did when the roll was first made.
+     */
+    public int rollDice() {
+        recordRandom();
+        int roll = dice.roll(random);
+        if (forcedRoll != 0) {
+            roll = forcedRoll;
+            forcedRoll = 0;
+        }
+        lastRoll = roll;
+
+        return roll;
+    }
+
+    /**
+     * Returns the outcome of the most recent roll, or 0 if the dice have not been rolled.
+     */
+    public int getLastRoll() {
+        return lastRoll;
+    }
+
+    public void forceRoll(int roll) {
+        assert 2 <= roll && roll <= 12;
+        forcedRoll = roll;
+    }
+
+    /**
+     * Takes a random resource from the inventory. Like a roll, a steal forced with {@link #forceSteal(Resource)}
+     * replaces the drawn resource after the draw.
+     */
+    public Resource stealResource(Inventory inventory) {
+        recordRandom();
+        Resource resource = inventory.stealResource(random);
+        if (forcedSteal == null) return resource;
+
+        Resource forced = forcedSteal;
+        forcedSteal = null;
+        if (forced == resource) return resource;
+        if (inventory.getResource(forced) < 1) throw new IllegalStateException("No " + forced + " to steal");
+        inventory.putResource(resource, 1);
+        inventory.putResource(forced, -1);
+
+        return forced;
+    }
+
+    public void forceSteal(Resource resource) {
+        assert resource != null && resource != Resource.NOTHING;
+        forcedSteal = resource;
+    }
+
     public void assignLargestArmy() {
         int largestArmy = 0;
         for (Player player : getPlayers()) {
@@ -91,51 +343,69 @@ public class Game {
                 }
             }
         }
+        recordHolders();
         this.largestArmy = playerWithLargestArmy;
     }
 
     public void assignLongestRoad() {
         int longestRoad = 0;
         for (Player player : getPlayers()) {
-            if (getBoard().getLongestRoad(player) > longestRoad) longestRoad = getBoard().getLongestRoad(player);
+            longestRoad = Math.max(longestRoad, getBoard().getLongestRoad(player));
+        }
+        if (this.longestRoad != null && longestRoad >= 5 && getBoard().getLongestRoad(this.longestRoad) == longestRoad) {
+            // tie for longest road, original player keeps it
+            return;
         }
-        if (longestRoad < 5) return;
         Player playerWithLongestRoad = null;
         for (Player player : getPlayers()) {
+            if (longestRoad < 5) break;
             if (getBoard().getLongestRoad(player) == longestRoad) {
-                if (playerWithLongestRoad  == null) {
+                if (playerWithLongestRoad == null) {
                     playerWithLongestRoad = player;
                 } else {
-                    // tie for largest army, original player keeps it
-                    return;
+                    // tie for longest road after the holder's road was broken, nobody holds it
+                    playerWithLongestRoad = null;
+                    break;
                 }
             }
         }
+        recordHolders();
         this.longestRoad = playerWithLongestRoad;
     }
 
+    public int getVictoryPoints(Player player) {
+        int points = player.inventory().victoryPoints() + getBoard().getBuildingPoints(player.color());
+        if (player.equals(largestArmy)) points += 2;
+        if (player.equals(longestRoad)) points += 2;
+        assert points == countVictoryPoints(player);
+
+        return points;
+    }
+
     public Optional<Player> getWinner() {
-        Collection<Player> winners = new ArrayList<>();
-        for (Player player : getPlayers()) {
-            int points = 0;
-            points += player.inventory().victoryPoints();
-            if (player == largestArmy) points += 2;
-            if (player == longestRoad) points += 2;
-            points += getBoard().getBuildings(player.color())
-                    .stream()
-                    .map(Building::type)
-                    .map(Building.Type::resources)
-                    .reduce(0, Integer::sum);
-            if (points >= 10) winners.add(player);
-        }
-
-        if (winners.contains(getCurrentPlayer())) {
-            return Optional.of(getCurrentPlayer());
+        // only the player whose turn it is can win
+        Player player = getCurrentPlayer();
+        if (getVictoryPoints(player) >= 10) {
+            return Optional.of(player);
         } else {
             return Optional.empty();
         }
     }
 
+    private int countVictoryPoints(Player player) {
+        int points = 0;
+        points += player.inventory().victoryPoints();
+        if (player.equals(largestArmy)) points += 2;
+        if (player.equals(longestRoad)) points += 2;
+        points += getBoard().getBuildings(player.color())
+                .stream()
+                .map(Building::type)
+                .map(Building.Type::resources)
+                .reduce(0, Integer::sum);
+
+        return points;
+    }
+
     public boolean hasDevelopmentCards() {
         return !developmentCards.isEmpty();
     }
@@ -145,19 +415,66 @@ public class Game {
             return null;
         }
 
-        return developmentCards.poll();
+        DevelopmentCard developmentCard = developmentCards.draw();
+        if (journal.isRecording()) record(developmentCards::undraw);
+        markChanged();
+        return developmentCard;
+    }
+
+    /**
+     * Shuffles the development cards left in the deck. Nobody has seen those cards, so a search on a fork can call
+     * this to sample one of the orders the deck may be in.
+     */
+    public void shuffleDevelopmentCards(RandomGenerator random) {
+        if (journal.isRecording()) {
+            DevelopmentDeck previous = developmentCards.copy();
+            record(() -> developmentCards.restore(previous));
+        }
+        if (random == this.random) recordRandom();
+        developmentCards.shuffle(random);
+        markChanged();
+    }
+
+    private void recordRandom() {
+        if (!journal.isRecording()) return;
+        long randomState = random.getState();
+        int lastRoll = this.lastRoll;
+        record(() -> {
+            random.setState(randomState);
+            this.lastRoll = lastRoll;
+        });
+    }
+
+    private void recordCurrentPlayer() {
+        if (!journal.isRecording()) return;
+        int previousPlayer = currentPlayer;
+        record(() -> currentPlayer = previousPlayer);
+    }
+
+    private void recordHolders() {
+        if (!journal.isRecording()) return;
+        Player largestArmy = this.largestArmy;
+        Player longestRoad = this.longestRoad;
+        record(() -> {
+            this.largestArmy = largestArmy;
+            this.longestRoad = longestRoad;
+        });
     }
 
     public static final class Builder {
         private Board board = Board.builder().build();
         private List<Player> players = new ArrayList<>();
         private Dice dice = RandomDice.create();
-        private Queue<DevelopmentCard> developmentCards = new LinkedList<>();
+        private final List<DevelopmentCard> developmentCards = new ArrayList<>();
+        private boolean shuffleDevelopmentCards;
+        private long seed = System.nanoTime();
 
         private Builder() {}
 
         public Game build() {
-            return new Game(board, players, dice, developmentCards);
+            Game game = new Game(board, players, dice, DevelopmentDeck.of(developmentCards), seed);
+            if (shuffleDevelopmentCards) game.shuffleDevelopmentCards(game.getRandom());
+            return game;
         }
 
         public Builder setBoard(Board board) {
@@ -178,10 +495,24 @@ public class Game {
             return this;
         }
 
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
         public Builder setDevelopmentCards(List<DevelopmentCard> developmentCards) {
             assert developmentCards != null;
             this.developmentCards.addAll(developmentCards);
             return this;
         }
+
+        /**
+         * Shuffles the development cards with the game's random generator when the game is built, so the order of
+         * the deck follows from the seed.
+         */
+        public Builder shuffleDevelopmentCards() {
+            this.shuffleDevelopmentCards = true;
+            return this;
+        }
     }
 }
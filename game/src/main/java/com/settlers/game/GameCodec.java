@@ -0,0 +1,223 @@
+package com.settlers.game;
+
+import com.settlers.game.dice.Dice;
+import com.settlers.game.dice.RandomDice;
+import com.settlers.game.states.StateCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary encoding of a whole game: tiles, robber, harbors, buildings, roads, inventories, development deck,
+ * current player, largest army and longest road holders, the random state and the active state with its fields.
+ * A four-player game on the standard board takes about 450 bytes. Tile coordinates, ids, piece counts and resource
+ * amounts are written as two bytes, so boards may have up to 65,535 tiles, vertices and edges; larger values are
+ * rejected when writing. The dice are not part of the encoding.
+ */
+public final class GameCodec {
+    public static final byte VERSION = 2;
+    private static final byte NONE = -1;
+
+    private GameCodec() {}
+
+    public static void write(Game game, ByteBuffer buffer) {
+        assert game != null;
+        assert buffer != null;
+        buffer.put(VERSION);
+        writeBoard(game.getBoard(), buffer);
+
+        buffer.put((byte) game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            writeInventory(player, buffer);
+        }
+        buffer.put((byte) game.getCurrentPlayerIndex());
+        writeColor(game.getLargestArmy(), buffer);
+        writeColor(game.getLongestRoad(), buffer);
+
+        DevelopmentDeck developmentCards = game.getDevelopmentCards();
+        buffer.put((byte) developmentCards.size());
+        for (int depth = 0; depth < developmentCards.size(); depth++) {
+            buffer.put((byte) developmentCards.get(depth).ordinal());
+        }
+        buffer.putLong(game.getRandomState());
+
+        StateCodec.write(game.getState(), buffer);
+    }
+
+    public static Game read(ByteBuffer buffer) {
+        return read(buffer, RandomDice.create());
+    }
+
+    public static Game read(ByteBuffer buffer, Dice dice) {
+        assert buffer != null;
+        assert dice != null;
+        byte version = buffer.get();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported encoding version " + version);
+        Board board = readBoard(buffer);
+
+        int playerCount = buffer.get();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(readInventory(buffer));
+        }
+        int currentPlayer = buffer.get();
+        byte largestArmy = buffer.get();
+        byte longestRoad = buffer.get();
+
+        int deckSize = Byte.toUnsignedInt(buffer.get());
+        byte[] developmentCards = new byte[deckSize];
+        buffer.get(developmentCards);
+        for (byte developmentCard : developmentCards) {
+            if (developmentCard < 0 || developmentCard >= DevelopmentCard.values().length) {
+                throw new IllegalArgumentException("Unknown development card " + developmentCard);
+            }
+        }
+        // the random state doubles as the seed, as a freshly seeded generator starts from its seed
+        long randomState = buffer.getLong();
+
+        Game game = new Game(board, players, dice, DevelopmentDeck.of(developmentCards), randomState);
+        game.restore(currentPlayer, readColor(game, largestArmy), readColor(game, longestRoad));
+        game.setState(StateCodec.read(game, buffer));
+
+        return game;
+    }
+
+    private static void writeBoard(Board board, ByteBuffer buffer) {
+        Topology topology = board.getTopology();
+        putUnsignedShort(buffer, topology.tileCount());
+        for (int tile = 0; tile < topology.tileCount(); tile++) {
+            Coordinate coordinate = topology.getCoordinate(tile);
+            // packable coordinates lie within 14 bits, so they always fit in a short
+            buffer.putShort((short) coordinate.q());
+            buffer.putShort((short) coordinate.r());
+            buffer.put((byte) (board.getResource(tile).ordinal() << 4 | board.getNumber(tile)));
+        }
+        putUnsignedShort(buffer, board.getRobberTile() + 1);
+
+        int count = buffer.position();
+        int entries = 0;
+        buffer.putShort((short) 0);
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            Harbor harbor = board.getHarbor(vertex);
+            if (harbor == null) continue;
+            putUnsignedShort(buffer, vertex);
+            buffer.put((byte) harbor.ordinal());
+            entries++;
+        }
+        buffer.putShort(count, (short) entries);
+
+        count = buffer.position();
+        entries = 0;
+        buffer.putShort((short) 0);
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            Building building = board.getBuilding(vertex);
+            if (building == null) continue;
+            putUnsignedShort(buffer, vertex);
+            buffer.put((byte) (building.color().ordinal() << 1 | building.type().ordinal()));
+            entries++;
+        }
+        buffer.putShort(count, (short) entries);
+
+        count = buffer.position();
+        entries = 0;
+        buffer.putShort((short) 0);
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            Road road = board.getRoad(edge);
+            if (road == null) continue;
+            putUnsignedShort(buffer, edge);
+            buffer.put((byte) road.color().ordinal());
+            entries++;
+        }
+        buffer.putShort(count, (short) entries);
+    }
+
+    private static Board readBoard(ByteBuffer buffer) {
+        int tileCount = Short.toUnsignedInt(buffer.getShort());
+        Coordinate[] coordinates = new Coordinate[tileCount];
+        Resource[] resources = new Resource[tileCount];
+        int[] numbers = new int[tileCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            coordinates[tile] = Coordinate.of(buffer.getShort(), buffer.getShort());
+            int packed = Byte.toUnsignedInt(buffer.get());
+            resources[tile] = Resource.values()[packed >>> 4];
+            numbers[tile] = packed & 0xF;
+        }
+        // tiles are written in topology order, so the ids below refer to this topology
+        Topology topology = Topology.of(Arrays.asList(coordinates));
+        int robber = Short.toUnsignedInt(buffer.getShort()) - 1;
+
+        Harbor[] harbors = new Harbor[topology.vertexCount()];
+        int harborCount = Short.toUnsignedInt(buffer.getShort());
+        for (int i = 0; i < harborCount; i++) {
+            harbors[Short.toUnsignedInt(buffer.getShort())] = Harbor.values()[buffer.get()];
+        }
+        Building[] buildings = new Building[topology.vertexCount()];
+        int buildingCount = Short.toUnsignedInt(buffer.getShort());
+        for (int i = 0; i < buildingCount; i++) {
+            int vertex = Short.toUnsignedInt(buffer.getShort());
+            int packed = buffer.get();
+            buildings[vertex] = Building.of(Color.values()[packed >>> 1], Building.Type.values()[packed & 1]);
+        }
+        Road[] roads = new Road[topology.edgeCount()];
+        int roadCount = Short.toUnsignedInt(buffer.getShort());
+        for (int i = 0; i < roadCount; i++) {
+            int edge = Short.toUnsignedInt(buffer.getShort());
+            roads[edge] = Road.of(Color.values()[buffer.get()]);
+        }
+
+        return Board.of(Terrain.of(topology, resources, numbers, harbors), robber, buildings, roads);
+    }
+
+    private static void writeInventory(Player player, ByteBuffer buffer) {
+        Inventory inventory = player.inventory();
+        buffer.put((byte) player.color().ordinal());
+        for (Resource resource : Resource.values()) {
+            if (resource == Resource.NOTHING) continue;
+            buffer.putShort((short) inventory.getResource(resource));
+        }
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            buffer.put((byte) inventory.getDevelopmentCard(developmentCard));
+        }
+        buffer.put((byte) inventory.building(Building.Type.SETTLEMENT));
+        buffer.put((byte) inventory.building(Building.Type.CITY));
+        buffer.put((byte) inventory.roads());
+        buffer.put((byte) inventory.usedKnights());
+    }
+
+    private static Player readInventory(ByteBuffer buffer) {
+        Color color = Color.values()[buffer.get()];
+        Map<Resource, Integer> resources = new EnumMap<>(Resource.class);
+        for (Resource resource : Resource.values()) {
+            if (resource == Resource.NOTHING) continue;
+            resources.put(resource, (int) buffer.getShort());
+        }
+        Map<DevelopmentCard, Integer> developmentCards = new EnumMap<>(DevelopmentCard.class);
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            developmentCards.put(developmentCard, Byte.toUnsignedInt(buffer.get()));
+        }
+        int settlements = buffer.get();
+        int cities = buffer.get();
+        int roads = buffer.get();
+        Inventory inventory = new Inventory(resources, developmentCards, settlements, cities, roads);
+        inventory.setUsedKnights(buffer.get());
+
+        return Player.of(color, inventory);
+    }
+
+    private static void putUnsignedShort(ByteBuffer buffer, int value) {
+        if (value < 0 || value > 0xFFFF) throw new IllegalArgumentException("Cannot encode " + value + " in two bytes");
+        buffer.putShort((short) value);
+    }
+
+    private static void writeColor(Player player, ByteBuffer buffer) {
+        buffer.put(player == null ? NONE : (byte) player.color().ordinal());
+    }
+
+    private static Player readColor(Game game, byte color) {
+        return color == NONE ? null : game.getPlayer(Color.values()[color]);
+    }
+}
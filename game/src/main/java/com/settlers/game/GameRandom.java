@@ -0,0 +1,38 @@
+package com.settlers.game;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The source of randomness of a game: dice, steals and shuffles. It is the SplitMix64 generator that
+ * {@link java.util.SplittableRandom} uses, but its whole state is one long that can be copied, saved and restored,
+ * so forks and restored games continue with exactly the same random stream.
+ */
+final class GameRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = state += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    GameRandom copy() {
+        return new GameRandom(state);
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state;
+    }
+}
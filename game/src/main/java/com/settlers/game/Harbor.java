@@ -6,5 +6,16 @@ public enum Harbor {
     ORE,
     GRAIN,
     WOOL,
-    ANY
+    ANY;
+
+    public static Harbor of(Resource resource) {
+        return switch (resource) {
+            case BRICK -> BRICK;
+            case LUMBER -> LUMBER;
+            case ORE -> ORE;
+            case GRAIN -> GRAIN;
+            case WOOL -> WOOL;
+            case NOTHING -> throw new IllegalArgumentException("No harbor for " + resource);
+        };
+    }
 }
@@ -1,17 +1,39 @@
 package com.settlers.game;
 
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class Inventory {
-    private final Map<Resource, Integer> resources;
-    private final Map<DevelopmentCard, Integer> developmentCards;
+    // every resource takes a 12-bit lane of one long, in Resource order. Amounts stay below 2048, so the top bit of
+    // each lane is free to catch the borrow when a cost is subtracted from it
+    private static final int LANE_BITS = 12;
+    private static final long LANE_MASK = (1L << LANE_BITS) - 1;
+    private static final int MAX_AMOUNT = (1 << LANE_BITS - 1) - 1;
+    private static final Resource[] RESOURCES = Arrays.copyOf(Resource.values(), Resource.values().length - 1);
+    private static final DevelopmentCard[] DEVELOPMENT_CARDS = DevelopmentCard.values();
+    private static final long BORROWS;
+
+    static {
+        long borrows = 0;
+        for (Resource resource : RESOURCES) {
+            borrows |= 1L << shift(resource) + LANE_BITS - 1;
+        }
+        BORROWS = borrows;
+    }
+
+    private long resources;
+    private int totalResources;
+    private final int[] developmentCards;
     private int settlements;
     private int cities;
     private int roads;
     private int usedKnights;
+    private long modCount;
+    private long hash;
+    private Journal journal;
 
     public Inventory(Map<Resource, Integer> resources,
                      Map<DevelopmentCard, Integer> developmentCards,
@@ -21,45 +43,157 @@ public class Inventory {
         assert settlements >= 0;
         assert cities >= 0;
         assert roads >= 0;
-        this.resources = Objects.requireNonNull(resources);
-        this.developmentCards = Objects.requireNonNull(developmentCards);
+        Objects.requireNonNull(resources);
+        Objects.requireNonNull(developmentCards);
+        this.developmentCards = new int[DEVELOPMENT_CARDS.length];
+        for (Resource resource : RESOURCES) {
+            int amount = resources.getOrDefault(resource, 0);
+            assert 0 <= amount && amount <= MAX_AMOUNT;
+            this.resources |= (long) amount << shift(resource);
+            this.totalResources += amount;
+        }
+        for (DevelopmentCard developmentCard : DEVELOPMENT_CARDS) {
+            this.developmentCards[developmentCard.ordinal()] = developmentCards.getOrDefault(developmentCard, 0);
+        }
         this.settlements = settlements;
         this.cities = cities;
         this.roads = roads;
         this.usedKnights = 0;
+        this.hash = computeHash(this.resources, this.developmentCards, settlements, cities, roads, usedKnights);
+    }
+
+    private Inventory(Inventory other) {
+        this.resources = other.resources;
+        this.totalResources = other.totalResources;
+        this.developmentCards = other.developmentCards.clone();
+        this.settlements = other.settlements;
+        this.cities = other.cities;
+        this.roads = other.roads;
+        this.usedKnights = other.usedKnights;
+        this.modCount = other.modCount;
+        this.hash = other.hash;
+    }
+
+    public Inventory copy() {
+        return new Inventory(this);
+    }
+
+    /**
+     * Packs an amount of each resource into a cost vector for {@link #canAfford(long)} and {@link #pay(long)}.
+     */
+    public static long cost(int brick, int lumber, int ore, int grain, int wool) {
+        assert Math.min(Math.min(brick, lumber), Math.min(Math.min(ore, grain), wool)) >= 0;
+        assert Math.max(Math.max(brick, lumber), Math.max(Math.max(ore, grain), wool)) <= MAX_AMOUNT;
+        return (long) brick << shift(Resource.BRICK) |
+                (long) lumber << shift(Resource.LUMBER) |
+                (long) ore << shift(Resource.ORE) |
+                (long) grain << shift(Resource.GRAIN) |
+                (long) wool << shift(Resource.WOOL);
+    }
+
+    /**
+     * Returns a cost vector holding an amount of a single resource. Vectors with distinct resources add up.
+     */
+    public static long cost(Resource resource, int amount) {
+        assert resource != Resource.NOTHING;
+        assert 0 <= amount && amount <= MAX_AMOUNT;
+        return (long) amount << shift(resource);
+    }
+
+    /**
+     * Returns the amount of a resource in a cost vector.
+     */
+    public static int amount(long cost, Resource resource) {
+        if (resource == Resource.NOTHING) return 0;
+
+        return (int) (cost >>> shift(resource) & LANE_MASK);
     }
 
     public int totalResources() {
-        return resources.values().stream().reduce(0, Integer::sum);
+        return totalResources;
     }
 
     public int getResource(Resource resource) {
-        return resources.get(resource);
+        if (resource == Resource.NOTHING) return 0;
+
+        return amount(resources, resource);
     }
 
     public boolean putResource(Resource resource, int amount) {
         assert resource != null;
         assert resource != Resource.NOTHING;
-        if (amount < 0 && resources.get(resource) < amount * -1) return false;
+        int previousAmount = amount(resources, resource);
+        if (amount < 0 && previousAmount < amount * -1) return false;
+        assert previousAmount + amount <= MAX_AMOUNT;
+
+        recordResources();
+        resources += (long) amount << shift(resource);
+        totalResources += amount;
+        hash ^= Zobrist.resource(resource, previousAmount) ^ Zobrist.resource(resource, previousAmount + amount);
+        modCount++;
+        return true;
+    }
+
+    public boolean canAfford(long cost) {
+        // a lane short of its cost borrows its top bit, and the bit stops the borrow from reaching the next lane
+        return ((resources | BORROWS) - cost & BORROWS) == BORROWS;
+    }
 
-        resources.merge(resource, amount, Integer::sum);
+    /**
+     * Takes a cost vector made by {@link #cost(int, int, int, int, int)}, unless some resource falls short of it.
+     */
+    public boolean pay(long cost) {
+        if (!canAfford(cost)) return false;
+
+        recordResources();
+        long remaining = resources - cost;
+        for (Resource resource : RESOURCES) {
+            int amount = amount(cost, resource);
+            if (amount == 0) continue;
+            hash ^= Zobrist.resource(resource, amount(resources, resource)) ^ Zobrist.resource(resource, amount(remaining, resource));
+            totalResources -= amount;
+        }
+        resources = remaining;
+        modCount++;
         return true;
     }
 
+    /**
+     * Adds every resource of a cost vector made by {@link #cost(int, int, int, int, int)}.
+     */
+    public void collect(long resources) {
+        recordResources();
+        for (Resource resource : RESOURCES) {
+            int amount = amount(resources, resource);
+            if (amount == 0) continue;
+            int previousAmount = amount(this.resources, resource);
+            assert previousAmount + amount <= MAX_AMOUNT;
+            hash ^= Zobrist.resource(resource, previousAmount) ^ Zobrist.resource(resource, previousAmount + amount);
+            totalResources += amount;
+        }
+        this.resources += resources;
+        modCount++;
+    }
+
     public void clearResource(Resource resource) {
-        resources.put(resource, 0);
+        recordResources();
+        int amount = amount(resources, resource);
+        hash ^= Zobrist.resource(resource, amount) ^ Zobrist.resource(resource, 0);
+        resources &= ~(LANE_MASK << shift(resource));
+        totalResources -= amount;
+        modCount++;
     }
 
-    public Resource stealResource() {
-        Random rng = new Random();
+    public Resource stealResource(RandomGenerator rng) {
+        assert rng != null;
         int resourceNoToSteal = rng.nextInt(1, totalResources() + 1);
-        for (Map.Entry<Resource, Integer> entry : resources.entrySet()) {
-            if (resourceNoToSteal <= entry.getValue()) {
-                Resource stolenResource = entry.getKey();
-                putResource(stolenResource, -1);
-                return stolenResource;
+        for (Resource resource : RESOURCES) {
+            int amount = amount(resources, resource);
+            if (resourceNoToSteal <= amount) {
+                putResource(resource, -1);
+                return resource;
             } else {
-                resourceNoToSteal -= entry.getValue();
+                resourceNoToSteal -= amount;
             }
         }
 
@@ -69,19 +203,27 @@ public class Inventory {
     public boolean useDevelopmentCard(DevelopmentCard developmentCard) {
         assert developmentCard != null;
         if (developmentCard == DevelopmentCard.VICTORY_POINT) return false;
-        if (!(developmentCards.get(developmentCard) >= 1)) return false;
+        if (developmentCards[developmentCard.ordinal()] < 1) return false;
 
+        recordDevelopmentCard(developmentCard);
+        hash ^= piecesKey() ^ developmentCardKey(developmentCard);
         if (developmentCard == DevelopmentCard.KNIGHT) usedKnights++;
-        developmentCards.merge(developmentCard, -1, Integer::sum);
+        developmentCards[developmentCard.ordinal()]--;
+        hash ^= piecesKey() ^ developmentCardKey(developmentCard);
+        modCount++;
         return true;
     }
 
     public void addDevelopmentCard(DevelopmentCard developmentCard) {
-        developmentCards.merge(developmentCard, 1, Integer::sum);
+        recordDevelopmentCard(developmentCard);
+        hash ^= developmentCardKey(developmentCard);
+        developmentCards[developmentCard.ordinal()]++;
+        hash ^= developmentCardKey(developmentCard);
+        modCount++;
     }
 
     public int getDevelopmentCard(DevelopmentCard developmentCard) {
-        return developmentCards.getOrDefault(developmentCard, 0);
+        return developmentCards[developmentCard.ordinal()];
     }
 
     public int building(Building.Type type) {
@@ -97,6 +239,8 @@ public class Inventory {
 
     public boolean useBuilding(Building.Type type) {
         if (!hasBuildings(type)) return false;
+        recordPieces();
+        hash ^= piecesKey();
         switch (type) {
             case SETTLEMENT -> {
                 settlements -= 1;
@@ -106,6 +250,8 @@ public class Inventory {
                 settlements += 1;
             }
         };
+        hash ^= piecesKey();
+        modCount++;
 
         return true;
     }
@@ -120,16 +266,119 @@ public class Inventory {
 
     public boolean useRoad() {
         if (!hasRoads()) return false;
+        recordPieces();
+        hash ^= piecesKey();
         roads -= 1;
+        hash ^= piecesKey();
+        modCount++;
         return true;
     }
 
+    public long modCount() {
+        return modCount;
+    }
+
+    public long hash() {
+        return hash;
+    }
+
+    long computeHash() {
+        return computeHash(resources, developmentCards, settlements, cities, roads, usedKnights);
+    }
+
+    // takes the fields as arguments so the constructor can hash without calling an overridable method on itself
+    private static long computeHash(long resources,
+                                    int[] developmentCards,
+                                    int settlements,
+                                    int cities,
+                                    int roads,
+                                    int usedKnights) {
+        long hash = Zobrist.pieces(settlements, cities, roads, usedKnights);
+        for (Resource resource : RESOURCES) {
+            hash ^= Zobrist.resource(resource, amount(resources, resource));
+        }
+        for (DevelopmentCard developmentCard : DEVELOPMENT_CARDS) {
+            hash ^= Zobrist.developmentCard(developmentCard, developmentCards[developmentCard.ordinal()]);
+        }
+
+        return hash;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    private boolean isRecording() {
+        return journal != null && journal.isRecording();
+    }
+
+    private void recordResources() {
+        if (!isRecording()) return;
+        long resources = this.resources;
+        int totalResources = this.totalResources;
+        long hash = this.hash;
+        journal.record(() -> {
+            this.resources = resources;
+            this.totalResources = totalResources;
+            this.hash = hash;
+            modCount++;
+        });
+    }
+
+    private void recordDevelopmentCard(DevelopmentCard developmentCard) {
+        if (!isRecording()) return;
+        int amount = developmentCards[developmentCard.ordinal()];
+        int usedKnights = this.usedKnights;
+        long hash = this.hash;
+        journal.record(() -> {
+            this.hash = hash;
+            developmentCards[developmentCard.ordinal()] = amount;
+            this.usedKnights = usedKnights;
+            modCount++;
+        });
+    }
+
+    private void recordPieces() {
+        if (!isRecording()) return;
+        int settlements = this.settlements;
+        int cities = this.cities;
+        int roads = this.roads;
+        long hash = this.hash;
+        journal.record(() -> {
+            this.hash = hash;
+            this.settlements = settlements;
+            this.cities = cities;
+            this.roads = roads;
+            modCount++;
+        });
+    }
+
+    private long piecesKey() {
+        return Zobrist.pieces(settlements, cities, roads, usedKnights);
+    }
+
+    private long developmentCardKey(DevelopmentCard developmentCard) {
+        return Zobrist.developmentCard(developmentCard, developmentCards[developmentCard.ordinal()]);
+    }
+
+    private static int shift(Resource resource) {
+        return resource.ordinal() * LANE_BITS;
+    }
+
     public int usedKnights() {
         return usedKnights;
     }
 
+    void setUsedKnights(int usedKnights) {
+        assert usedKnights >= 0;
+        hash ^= piecesKey();
+        this.usedKnights = usedKnights;
+        hash ^= piecesKey();
+        modCount++;
+    }
+
     public int victoryPoints() {
-        return developmentCards.get(DevelopmentCard.VICTORY_POINT);
+        return developmentCards[DevelopmentCard.VICTORY_POINT.ordinal()];
     }
 
     public static Builder builder() {
@@ -0,0 +1,57 @@
+package com.settlers.game;
+
+import java.util.Arrays;
+
+public final class Journal {
+    private Entry[] entries = new Entry[64];
+    private int size;
+    private int[] marks = new int[16];
+    private int markCount;
+
+    public boolean isRecording() {
+        return markCount > 0;
+    }
+
+    public void record(Entry entry) {
+        assert entry != null;
+        if (!isRecording()) return;
+
+        if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+        entries[size++] = entry;
+    }
+
+    public void mark() {
+        if (markCount == marks.length) marks = Arrays.copyOf(marks, markCount * 2);
+        marks[markCount++] = size;
+    }
+
+    public void undo() {
+        if (markCount == 0) throw new IllegalStateException("Nothing to undo");
+
+        int mark = marks[--markCount];
+        while (size > mark) {
+            Entry entry = entries[--size];
+            entries[size] = null;
+            entry.undo();
+        }
+    }
+
+    public void commit() {
+        if (markCount == 0) throw new IllegalStateException("Nothing to commit");
+
+        markCount--;
+        if (markCount == 0) {
+            Arrays.fill(entries, 0, size, null);
+            size = 0;
+        }
+    }
+
+    public int depth() {
+        return markCount;
+    }
+
+    @FunctionalInterface
+    public interface Entry {
+        void undo();
+    }
+}
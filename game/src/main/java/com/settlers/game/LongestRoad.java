@@ -0,0 +1,163 @@
+package com.settlers.game;
+
+import java.util.Arrays;
+
+final class LongestRoad {
+    private final Topology topology;
+    private final Bitboard bitboard;
+    private final int[] lengths;
+    // scratch stack of fillComponent, allocated on first use so copies of a board that never recompute stay small
+    private int[] stack;
+    private final long[] component;
+    private final long[] visited;
+
+    LongestRoad(Topology topology, Bitboard bitboard) {
+        this.topology = topology;
+        this.bitboard = bitboard;
+        this.lengths = new int[Color.values().length];
+        this.component = new long[topology.edgeWords()];
+        this.visited = new long[topology.edgeWords()];
+
+        for (Color color : Color.values()) {
+            recompute(color);
+        }
+    }
+
+    LongestRoad(LongestRoad other, Bitboard bitboard) {
+        this.topology = other.topology;
+        this.bitboard = bitboard;
+        this.lengths = other.lengths.clone();
+        this.component = new long[other.component.length];
+        this.visited = new long[other.visited.length];
+    }
+
+    int get(Color color) {
+        return lengths[color.ordinal()];
+    }
+
+    void roadAdded(int edge, Color color) {
+        // a new road only joins components, so only the one it belongs to can grow
+        int length = longestTrail(color, edge);
+        if (length > lengths[color.ordinal()]) lengths[color.ordinal()] = length;
+    }
+
+    void roadRemoved(Color color, int previousLength) {
+        lengths[color.ordinal()] = previousLength;
+    }
+
+    int[] getLengths() {
+        return lengths.clone();
+    }
+
+    void setLengths(int[] lengths) {
+        System.arraycopy(lengths, 0, this.lengths, 0, this.lengths.length);
+    }
+
+    void buildingChanged(int vertex) {
+        Topology.Adjacency vertexEdges = topology.vertexEdges();
+        for (Color color : Color.values()) {
+            int incidentRoads = 0;
+            for (int i = vertexEdges.start(vertex); i < vertexEdges.end(vertex); i++) {
+                if (bitboard.hasRoad(vertexEdges.get(i), color)) incidentRoads++;
+            }
+            // a building can only split a road running through the vertex
+            if (incidentRoads >= 2) recompute(color);
+        }
+    }
+
+    private void recompute(Color color) {
+        long[] seen = new long[component.length];
+        int longest = 0;
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            if (!bitboard.hasRoad(edge, color) || isSet(seen, edge)) continue;
+            int length = longestTrail(color, edge);
+            for (int word = 0; word < seen.length; word++) {
+                seen[word] |= component[word];
+            }
+            if (length > longest) longest = length;
+        }
+        lengths[color.ordinal()] = longest;
+    }
+
+    private int longestTrail(Color color, int edge) {
+        fillComponent(color, edge);
+        Topology.Adjacency edgeVertices = topology.edgeVertices();
+        int longest = 0;
+        for (int word = 0; word < component.length; word++) {
+            long bits = component[word];
+            while (bits != 0) {
+                int componentEdge = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int i = edgeVertices.start(componentEdge); i < edgeVertices.end(componentEdge); i++) {
+                    int length = longestTrailFrom(color, edgeVertices.get(i), 0);
+                    if (length > longest) longest = length;
+                }
+            }
+        }
+
+        return longest;
+    }
+
+    private int longestTrailFrom(Color color, int vertex, int length) {
+        if (length > 0 && isBlocked(color, vertex)) return length;
+
+        int longest = length;
+        Topology.Adjacency vertexEdges = topology.vertexEdges();
+        for (int i = vertexEdges.start(vertex); i < vertexEdges.end(vertex); i++) {
+            int edge = vertexEdges.get(i);
+            if (!isSet(component, edge) || isSet(visited, edge)) continue;
+            set(visited, edge);
+            int trail = longestTrailFrom(color, otherVertex(edge, vertex), length + 1);
+            clear(visited, edge);
+            if (trail > longest) longest = trail;
+        }
+
+        return longest;
+    }
+
+    private void fillComponent(Color color, int edge) {
+        Arrays.fill(component, 0L);
+        Topology.Adjacency edgeVertices = topology.edgeVertices();
+        Topology.Adjacency vertexEdges = topology.vertexEdges();
+        if (stack == null) stack = new int[topology.edgeCount()];
+        int[] stack = this.stack;
+        int size = 0;
+        stack[size++] = edge;
+        set(component, edge);
+        while (size > 0) {
+            int current = stack[--size];
+            for (int i = edgeVertices.start(current); i < edgeVertices.end(current); i++) {
+                int vertex = edgeVertices.get(i);
+                if (isBlocked(color, vertex)) continue;
+                for (int j = vertexEdges.start(vertex); j < vertexEdges.end(vertex); j++) {
+                    int adjacentEdge = vertexEdges.get(j);
+                    if (!bitboard.hasRoad(adjacentEdge, color) || isSet(component, adjacentEdge)) continue;
+                    set(component, adjacentEdge);
+                    stack[size++] = adjacentEdge;
+                }
+            }
+        }
+    }
+
+    private boolean isBlocked(Color color, int vertex) {
+        return bitboard.hasBuilding(vertex) && !bitboard.hasSettlement(vertex, color) && !bitboard.hasCity(vertex, color);
+    }
+
+    private int otherVertex(int edge, int vertex) {
+        Topology.Adjacency edgeVertices = topology.edgeVertices();
+        int first = edgeVertices.get(edgeVertices.start(edge));
+        return first == vertex ? edgeVertices.get(edgeVertices.start(edge) + 1) : first;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
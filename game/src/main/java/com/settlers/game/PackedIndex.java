@@ -0,0 +1,64 @@
+package com.settlers.game;
+
+/**
+ * Maps packed int keys, such as packed coordinates and positions, to non-negative ids. Keys and ids sit side by side
+ * in one array probed linearly, so a lookup neither boxes nor allocates.
+ */
+final class PackedIndex {
+    // pairs of key and id + 1, where an id of 0 marks an empty slot
+    private int[] slots;
+    private int mask;
+    private int shift;
+    private int size;
+
+    PackedIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        this.slots = new int[capacity * 2];
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of a key, or -1 if the key is absent.
+     */
+    int get(int key) {
+        for (int slot = slot(key); ; slot = slot + 1 & mask) {
+            int id = slots[slot * 2 + 1];
+            if (id == 0) return -1;
+            if (slots[slot * 2] == key) return id - 1;
+        }
+    }
+
+    void put(int key, int id) {
+        assert id >= 0;
+        if ((size + 1) * 2 > mask + 1) grow();
+
+        int slot = slot(key);
+        while (slots[slot * 2 + 1] != 0 && slots[slot * 2] != key) {
+            slot = slot + 1 & mask;
+        }
+        if (slots[slot * 2 + 1] == 0) size++;
+        slots[slot * 2] = key;
+        slots[slot * 2 + 1] = id + 1;
+    }
+
+    private void grow() {
+        int[] old = slots;
+        slots = new int[old.length * 2];
+        mask = mask * 2 + 1;
+        shift--;
+        size = 0;
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i + 1] != 0) put(old[i], old[i + 1] - 1);
+        }
+    }
+
+    // Fibonacci hashing: the top bits of the product depend on every bit of the key
+    private int slot(int key) {
+        return key * 0x9E3779B9 >>> shift;
+    }
+}
@@ -3,22 +3,18 @@ package com.settlers.game;
 import java.util.Objects;
 
 public record Player(Color color, Inventory inventory) {
+    private static final long SETTLEMENT_COST = Inventory.cost(1, 1, 0, 1, 1);
+    private static final long CITY_COST = Inventory.cost(0, 0, 3, 2, 0);
+    private static final long ROAD_COST = Inventory.cost(1, 1, 0, 0, 0);
+    private static final long DEVELOPMENT_CARD_COST = Inventory.cost(0, 0, 1, 1, 1);
+
     public Player {
         assert color != null;
         assert inventory != null;
     }
 
     public boolean canAffordBuilding(Building.Type type) {
-        return switch (type) {
-            case SETTLEMENT ->
-                inventory.getResource(Resource.BRICK) >= 1 &&
-                inventory.getResource(Resource.WOOL) >= 1 &&
-                inventory.getResource(Resource.GRAIN) >= 1 &&
-                inventory.getResource(Resource.LUMBER) >= 1;
-            case CITY ->
-                inventory.getResource(Resource.ORE) >= 3 &&
-                inventory.getResource(Resource.GRAIN) >= 2;
-        };
+        return inventory.canAfford(cost(type));
     }
 
     public boolean buyBuilding(Building.Type type) {
@@ -26,24 +22,13 @@ public record Player(Color color, Inventory inventory) {
         if (!inventory.hasBuildings(type)) return false;
 
         inventory.useBuilding(type);
-        switch (type) {
-            case SETTLEMENT -> {
-                inventory.putResource(Resource.BRICK, -1);
-                inventory.putResource(Resource.WOOL, -1);
-                inventory.putResource(Resource.GRAIN, -1);
-                inventory.putResource(Resource.LUMBER, -1);
-            }
-            case CITY -> {
-                inventory.putResource(Resource.ORE, -3);
-                inventory.putResource(Resource.GRAIN, -2);
-            }
-        }
+        inventory.pay(cost(type));
 
         return true;
     }
 
     public boolean canAffordRoad() {
-        return inventory.getResource(Resource.LUMBER) >= 1 && inventory.getResource(Resource.BRICK) >= 1;
+        return inventory.canAfford(ROAD_COST);
     }
 
     public boolean buyRoad() {
@@ -51,26 +36,24 @@ public record Player(Color color, Inventory inventory) {
         if (!inventory.hasRoads()) return false;
 
         inventory.useRoad();
-        inventory.putResource(Resource.LUMBER, -1);
-        inventory.putResource(Resource.BRICK, -1);
+        inventory.pay(ROAD_COST);
 
         return true;
     }
 
     public boolean canAffordDevelopmentCard() {
-        return inventory.getResource(Resource.WOOL) >= 1 &&
-                inventory.getResource(Resource.GRAIN) >= 1 &&
-                inventory.getResource(Resource.ORE) >= 1;
+        return inventory.canAfford(DEVELOPMENT_CARD_COST);
     }
 
     public boolean buyDevelopmentCard() {
-        if (!canAffordDevelopmentCard()) return false;
-
-        inventory.putResource(Resource.WOOL, -1);
-        inventory.putResource(Resource.GRAIN, -1);
-        inventory.putResource(Resource.ORE, -1);
+        return inventory.pay(DEVELOPMENT_CARD_COST);
+    }
 
-        return true;
+    private static long cost(Building.Type type) {
+        return switch (type) {
+            case SETTLEMENT -> SETTLEMENT_COST;
+            case CITY -> CITY_COST;
+        };
     }
 
     public static Player of(Color color, Inventory inventory) {
@@ -17,6 +17,25 @@ public record Position(Coordinate coordinate, Direction direction) {
         return new Position(Coordinate.of(q, r), direction);
     }
 
+    /**
+     * Packs a position into the low 31 bits of an int, the packed coordinate above the direction, or returns -1 if the
+     * coordinate is out of the packable range.
+     */
+    public static int pack(int q, int r, Direction direction) {
+        int coordinate = Coordinate.pack(q, r);
+        if (coordinate < 0) return -1;
+
+        return coordinate << 3 | direction.ordinal();
+    }
+
+    public static Position unpack(int packed) {
+        return of(Coordinate.unpack(packed >>> 3), Direction.values()[packed & 7]);
+    }
+
+    public int pack() {
+        return pack(coordinate.q(), coordinate.r(), direction);
+    }
+
     public Collection<Position> getPositionsForVertex() {
         return switch (direction) {
             case ONE ->
@@ -1,11 +1,19 @@
 package com.settlers.game;
 
 public record Road(Color color) {
+    private static final Road[] ROADS = new Road[Color.values().length];
+
+    static {
+        for (Color color : Color.values()) {
+            ROADS[color.ordinal()] = new Road(color);
+        }
+    }
+
     public Road {
         assert color != null;
     }
 
     public static Road of(Color color) {
-        return new Road(color);
+        return ROADS[color.ordinal()];
     }
 }
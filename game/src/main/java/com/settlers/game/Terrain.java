@@ -0,0 +1,126 @@
+package com.settlers.game;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * The part of a board that never changes: its topology, the resource and number of every tile and the harbor of
+ * every vertex. Terrains are interned, so all boards with the same layout share one instance and a board only holds
+ * the pieces placed on it.
+ */
+public final class Terrain {
+    private static final int NUMBERS = 13;
+    private static final Map<Terrain, WeakReference<Terrain>> INTERNED = new WeakHashMap<>();
+
+    private final Topology topology;
+    private final Resource[] resources;
+    private final int[] numbers;
+    private final Harbor[] harbors;
+    // producing tiles grouped by number, so a roll only visits the tiles with its number
+    private final int[] productionOffsets;
+    private final int[] productionTiles;
+    private final long[] harborVertices;
+    private final int hashCode;
+
+    private Terrain(Topology topology, Resource[] resources, int[] numbers, Harbor[] harbors) {
+        this.topology = topology;
+        this.resources = resources;
+        this.numbers = numbers;
+        this.harbors = harbors;
+        this.productionOffsets = new int[NUMBERS + 1];
+        this.harborVertices = new long[Harbor.values().length * topology.vertexWords()];
+        this.hashCode = Objects.hash(topology, Arrays.hashCode(resources), Arrays.hashCode(numbers), Arrays.hashCode(harbors));
+
+        for (int tile = 0; tile < numbers.length; tile++) {
+            if (isProducing(tile)) productionOffsets[numbers[tile] + 1]++;
+        }
+        for (int number = 1; number < productionOffsets.length; number++) {
+            productionOffsets[number] += productionOffsets[number - 1];
+        }
+        this.productionTiles = new int[productionOffsets[NUMBERS]];
+        int[] sizes = new int[NUMBERS];
+        for (int tile = 0; tile < numbers.length; tile++) {
+            if (isProducing(tile)) productionTiles[productionOffsets[numbers[tile]] + sizes[numbers[tile]]++] = tile;
+        }
+        for (int vertex = 0; vertex < harbors.length; vertex++) {
+            if (harbors[vertex] == null) continue;
+            harborVertices[harbors[vertex].ordinal() * topology.vertexWords() + (vertex >>> 6)] |= 1L << vertex;
+        }
+    }
+
+    /**
+     * Returns the terrain with the given tiles and harbors, indexed by the tile and vertex ids of the topology.
+     * The arrays are owned by the terrain afterwards.
+     */
+    static Terrain of(Topology topology, Resource[] resources, int[] numbers, Harbor[] harbors) {
+        assert topology != null;
+        assert resources.length == topology.tileCount();
+        assert numbers.length == topology.tileCount();
+        assert harbors.length == topology.vertexCount();
+
+        Terrain terrain = new Terrain(topology, resources, numbers, harbors);
+        synchronized (INTERNED) {
+            WeakReference<Terrain> reference = INTERNED.get(terrain);
+            Terrain interned = reference == null ? null : reference.get();
+            if (interned != null) return interned;
+
+            INTERNED.put(terrain, new WeakReference<>(terrain));
+            return terrain;
+        }
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public Resource getResource(int tile) {
+        return resources[tile];
+    }
+
+    public int getNumber(int tile) {
+        return numbers[tile];
+    }
+
+    public Harbor getHarbor(int vertex) {
+        return harbors[vertex];
+    }
+
+    int productionStart(int number) {
+        return productionOffsets[number];
+    }
+
+    int productionEnd(int number) {
+        return productionOffsets[number + 1];
+    }
+
+    int productionTile(int index) {
+        return productionTiles[index];
+    }
+
+    long harborVertices(Harbor harbor, int word) {
+        return harborVertices[harbor.ordinal() * topology.vertexWords() + word];
+    }
+
+    private boolean isProducing(int tile) {
+        return resources[tile] != Resource.NOTHING && numbers[tile] >= 2 && numbers[tile] <= 12;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof Terrain terrain)) return false;
+
+        return topology == terrain.topology &&
+                Arrays.equals(resources, terrain.resources) &&
+                Arrays.equals(numbers, terrain.numbers) &&
+                Arrays.equals(harbors, terrain.harbors);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
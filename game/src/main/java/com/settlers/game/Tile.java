@@ -1,6 +1,7 @@
 package com.settlers.game;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
 public record Tile(Resource resource,
@@ -15,17 +16,27 @@ public record Tile(Resource resource,
         assert roads != null;
         assert buildings != null;
         assert harbors != null;
+        roads = copyOf(roads);
+        buildings = copyOf(buildings);
+        harbors = copyOf(harbors);
     }
 
     public static Builder builder() {
         return new Builder();
     }
 
+    // tiles are values, so they keep read-only copies rather than the maps they were built from
+    private static <T> Map<Direction, T> copyOf(Map<Direction, T> map) {
+        Map<Direction, T> copy = new EnumMap<>(Direction.class);
+        copy.putAll(map);
+        return Collections.unmodifiableMap(copy);
+    }
+
     public static final class Builder {
 
-        private final Map<Direction, Road> roads = new HashMap<>();
-        private final Map<Direction, Building> buildings = new HashMap<>();
-        private final Map<Direction, Harbor> harbors = new HashMap<>();
+        private final Map<Direction, Road> roads = new EnumMap<>(Direction.class);
+        private final Map<Direction, Building> buildings = new EnumMap<>(Direction.class);
+        private final Map<Direction, Harbor> harbors = new EnumMap<>(Direction.class);
 
         private Builder() {}
 
@@ -0,0 +1,281 @@
+package com.settlers.game;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * The geometry of a board: its tiles, vertices and edges with dense ids and the adjacency between them. Topologies
+ * are interned by their tiles, so every board of the same shape shares one instance.
+ */
+public final class Topology {
+    private static final int DIRECTIONS = Direction.values().length;
+    private static final Map<List<Coordinate>, WeakReference<Topology>> INTERNED = new WeakHashMap<>();
+
+    // the key of this topology among the interned ones, held here so the entry lives as long as the topology
+    private final List<Coordinate> key;
+    private final Coordinate[] coordinates;
+    private final PackedIndex tileIndices;
+    private final PackedIndex vertexIds;
+    private final PackedIndex edgeIds;
+    private final Position[] vertices;
+    private final Position[] edges;
+    private final int[] tileVertices;
+    private final int[] tileEdges;
+    private final long[] tileVertexMasks;
+    private final Adjacency vertexVertices;
+    private final Adjacency vertexEdges;
+    private final Adjacency vertexTiles;
+    private final Adjacency edgeEdges;
+    private final Adjacency edgeVertices;
+
+    private Topology(Coordinate[] coordinates) {
+        this.key = List.of(coordinates);
+        this.coordinates = coordinates;
+        this.tileIndices = new PackedIndex(coordinates.length);
+        // every vertex and edge is keyed by each of its positions, including those on tiles off the board
+        this.vertexIds = new PackedIndex(coordinates.length * DIRECTIONS * 2);
+        this.edgeIds = new PackedIndex(coordinates.length * DIRECTIONS * 2);
+        this.tileVertices = new int[coordinates.length * DIRECTIONS];
+        this.tileEdges = new int[coordinates.length * DIRECTIONS];
+
+        List<Position> vertices = new ArrayList<>();
+        List<Position> edges = new ArrayList<>();
+        for (int tile = 0; tile < coordinates.length; tile++) {
+            tileIndices.put(coordinates[tile].pack(), tile);
+            for (Direction direction : Direction.values()) {
+                Position position = Position.of(coordinates[tile], direction);
+                tileVertices[tile * DIRECTIONS + direction.ordinal()] =
+                        assignId(position, position.getPositionsForVertex(), vertexIds, vertices);
+                tileEdges[tile * DIRECTIONS + direction.ordinal()] =
+                        assignId(position, position.getPositionsForEdge(), edgeIds, edges);
+            }
+        }
+        this.vertices = vertices.toArray(new Position[0]);
+        this.edges = edges.toArray(new Position[0]);
+        this.tileVertexMasks = new long[coordinates.length * vertexWords()];
+        for (int i = 0; i < tileVertices.length; i++) {
+            tileVertexMasks[i / DIRECTIONS * vertexWords() + (tileVertices[i] >>> 6)] |= 1L << tileVertices[i];
+        }
+
+        this.vertexVertices = Adjacency.of(this.vertices, Position::getAdjacentVerticesForVertex, this::getVertex, this.vertices.length);
+        this.vertexEdges = Adjacency.of(this.vertices, Position::getAdjacentEdgesForVertex, this::getEdge, this.edges.length);
+        this.vertexTiles = Adjacency.of(this.vertices, Position::getAdjacentCoordinatesForVertex, this::getTile, coordinates.length);
+        this.edgeEdges = Adjacency.of(this.edges, Position::getAdjacentEdgesForEdge, this::getEdge, this.edges.length);
+        this.edgeVertices = Adjacency.of(this.edges, Position::getAdjacentVerticesForEdge, this::getVertex, this.vertices.length);
+    }
+
+    public static Topology of(Collection<Coordinate> coordinates) {
+        assert coordinates != null;
+        Coordinate[] sorted = coordinates.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt(Coordinate::r).thenComparingInt(Coordinate::q))
+                .toArray(Coordinate[]::new);
+        for (Coordinate coordinate : sorted) {
+            if (coordinate.pack() < 0) throw new IllegalArgumentException("Coordinate out of range: " + coordinate);
+        }
+
+        synchronized (INTERNED) {
+            WeakReference<Topology> reference = INTERNED.get(Arrays.asList(sorted));
+            Topology topology = reference == null ? null : reference.get();
+            if (topology != null) return topology;
+
+            topology = new Topology(sorted);
+            INTERNED.put(topology.key, new WeakReference<>(topology));
+            return topology;
+        }
+    }
+
+    public int tileCount() {
+        return coordinates.length;
+    }
+
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    public int vertexWords() {
+        return words(vertices.length);
+    }
+
+    public int edgeWords() {
+        return words(edges.length);
+    }
+
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    public int getTile(Coordinate coordinate) {
+        return tileIndices.get(coordinate.pack());
+    }
+
+    public int getTile(int q, int r) {
+        return tileIndices.get(Coordinate.pack(q, r));
+    }
+
+    public Coordinate getCoordinate(int tile) {
+        return coordinates[tile];
+    }
+
+    public int getVertex(Position position) {
+        return vertexIds.get(position.pack());
+    }
+
+    public int getVertex(int q, int r, Direction direction) {
+        return vertexIds.get(Position.pack(q, r, direction));
+    }
+
+    public int getVertex(int tile, Direction direction) {
+        return tileVertices[tile * DIRECTIONS + direction.ordinal()];
+    }
+
+    public long tileVertexMask(int tile, int word) {
+        return tileVertexMasks[tile * vertexWords() + word];
+    }
+
+    public Position getVertexPosition(int vertex) {
+        return vertices[vertex];
+    }
+
+    public int getEdge(Position position) {
+        return edgeIds.get(position.pack());
+    }
+
+    public int getEdge(int q, int r, Direction direction) {
+        return edgeIds.get(Position.pack(q, r, direction));
+    }
+
+    public int getEdge(int tile, Direction direction) {
+        return tileEdges[tile * DIRECTIONS + direction.ordinal()];
+    }
+
+    public Position getEdgePosition(int edge) {
+        return edges[edge];
+    }
+
+    public Adjacency vertexVertices() {
+        return vertexVertices;
+    }
+
+    public Adjacency vertexEdges() {
+        return vertexEdges;
+    }
+
+    public Adjacency vertexTiles() {
+        return vertexTiles;
+    }
+
+    public Adjacency edgeEdges() {
+        return edgeEdges;
+    }
+
+    public Adjacency edgeVertices() {
+        return edgeVertices;
+    }
+
+    private static int assignId(Position position,
+                                Collection<Position> aliases,
+                                PackedIndex ids,
+                                List<Position> canonical) {
+        int id = ids.get(position.pack());
+        if (id >= 0) return id;
+
+        id = canonical.size();
+        canonical.add(position);
+        for (Position alias : aliases) {
+            // an alias beyond the packable range can never be looked up
+            if (alias.pack() >= 0) ids.put(alias.pack(), id);
+        }
+
+        return id;
+    }
+
+    public static final class Adjacency {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int words;
+        private final long[] masks;
+
+        private Adjacency(int[] offsets, int[] targets, int targetCount) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.words = words(targetCount);
+            this.masks = new long[(offsets.length - 1) * words];
+            for (int source = 0; source < offsets.length - 1; source++) {
+                for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                    masks[source * words + (targets[i] >>> 6)] |= 1L << targets[i];
+                }
+            }
+        }
+
+        private static <T> Adjacency of(Position[] sources,
+                                        Function<Position, Collection<T>> neighbours,
+                                        ToIntFunction<T> ids,
+                                        int targetCount) {
+            int[] offsets = new int[sources.length + 1];
+            int[] targets = new int[sources.length * DIRECTIONS];
+            int size = 0;
+            for (int source = 0; source < sources.length; source++) {
+                offsets[source] = size;
+                for (T neighbour : neighbours.apply(sources[source])) {
+                    int target = ids.applyAsInt(neighbour);
+                    if (target < 0) continue;
+                    targets[size++] = target;
+                }
+            }
+            offsets[sources.length] = size;
+
+            return new Adjacency(offsets, Arrays.copyOf(targets, size), targetCount);
+        }
+
+        public int start(int source) {
+            return offsets[source];
+        }
+
+        public int end(int source) {
+            return offsets[source + 1];
+        }
+
+        public int count(int source) {
+            return offsets[source + 1] - offsets[source];
+        }
+
+        public int get(int index) {
+            return targets[index];
+        }
+
+        public long mask(int source, int word) {
+            return masks[source * words + word];
+        }
+
+        public boolean contains(int source, int target) {
+            for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                if (targets[i] == target) return true;
+            }
+
+            return false;
+        }
+
+        public void forEach(int source, IntConsumer consumer) {
+            for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                consumer.accept(targets[i]);
+            }
+        }
+
+        public boolean anyMatch(int source, IntPredicate predicate) {
+            for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                if (predicate.test(targets[i])) return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -1,102 +1,132 @@
 package com.settlers.game;
 
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A trade offered by one player to another. The offer and the receive are cost vectors as made by
+ * {@link Inventory#cost(int, int, int, int, int)}, so checking and carrying out a trade needs no maps.
+ */
 public record Trade(Player offeringPlayer,
                     Player receivingPlayer,
-                    Map<Resource, Integer> offer,
-                    Map<Resource, Integer> receive) {
+                    long offer,
+                    long receive) {
     public Trade {
         assert offeringPlayer != null;
         assert receivingPlayer != null;
-        assert offer != null;
-        assert receive != null;
+    }
+
+    public Trade(Player offeringPlayer,
+                 Player receivingPlayer,
+                 Map<Resource, Integer> offer,
+                 Map<Resource, Integer> receive) {
+        this(offeringPlayer, receivingPlayer, vector(offer), vector(receive));
     }
 
     public static Builder builder() {
         return new Builder();
     }
 
+    public int getOffer(Resource resource) {
+        return Inventory.amount(offer, resource);
+    }
+
+    public int getReceive(Resource resource) {
+        return Inventory.amount(receive, resource);
+    }
+
+    /**
+     * Returns whether both players hold what they would give away.
+     */
+    public boolean isFeasible(Inventory offeringInventory, Inventory receivingInventory) {
+        return offeringInventory.canAfford(offer) && receivingInventory.canAfford(receive);
+    }
+
+    private static long vector(Map<Resource, Integer> resources) {
+        assert resources != null;
+        long vector = 0;
+        for (Map.Entry<Resource, Integer> entry : resources.entrySet()) {
+            if (entry.getKey() == Resource.NOTHING) continue;
+            vector += Inventory.cost(entry.getKey(), entry.getValue());
+        }
+
+        return vector;
+    }
+
     public static final class Builder {
-        private final Map<Resource, Integer> offer;
-        private final Map<Resource, Integer> receive;
-        private Builder() {
-            Map<Resource, Integer> offer = new HashMap<>();
-            for (Resource resource : Resource.values()) {
-                if (resource == Resource.NOTHING) continue;
-                offer.put(resource, 0);
-            }
-            this.offer = offer;
-            Map<Resource, Integer> receive = new HashMap<>();
+        private final int[] offer = new int[Resource.values().length];
+        private final int[] receive = new int[Resource.values().length];
+
+        private Builder() {}
+
+        public Trade build(Player offeringPlayer, Player receivingPlayer) {
+            long offerVector = 0;
+            long receiveVector = 0;
             for (Resource resource : Resource.values()) {
                 if (resource == Resource.NOTHING) continue;
-                receive.put(resource, 0);
+                offerVector += Inventory.cost(resource, offer[resource.ordinal()]);
+                receiveVector += Inventory.cost(resource, receive[resource.ordinal()]);
             }
-            this.receive = receive;
-        }
 
-        public Trade build(Player offeringPlayer, Player receivingPlayer) {
-            return new Trade(offeringPlayer, receivingPlayer, offer, receive);
+            return new Trade(offeringPlayer, receivingPlayer, offerVector, receiveVector);
         }
 
         public Builder offerBrick(int amount) {
             assert amount >= 0;
-            offer.merge(Resource.BRICK, amount, Integer::sum);
+            offer[Resource.BRICK.ordinal()] += amount;
             return this;
         }
 
         public Builder offerLumber(int amount) {
             assert amount >= 0;
-            offer.merge(Resource.LUMBER, amount, Integer::sum);
+            offer[Resource.LUMBER.ordinal()] += amount;
             return this;
         }
 
         public Builder offerOre(int amount) {
             assert amount >= 0;
-            offer.merge(Resource.ORE, amount, Integer::sum);
+            offer[Resource.ORE.ordinal()] += amount;
             return this;
         }
 
         public Builder offerGrain(int amount) {
             assert amount >= 0;
-            offer.merge(Resource.GRAIN, amount, Integer::sum);
+            offer[Resource.GRAIN.ordinal()] += amount;
             return this;
         }
 
         public Builder offerWool(int amount) {
             assert amount >= 0;
-            offer.merge(Resource.WOOL, amount, Integer::sum);
+            offer[Resource.WOOL.ordinal()] += amount;
             return this;
         }
 
         public Builder receiveBrick(int amount) {
             assert amount >= 0;
-            receive.merge(Resource.BRICK, amount, Integer::sum);
+            receive[Resource.BRICK.ordinal()] += amount;
             return this;
         }
 
         public Builder receiveLumber(int amount) {
             assert amount >= 0;
-            receive.merge(Resource.LUMBER, amount, Integer::sum);
+            receive[Resource.LUMBER.ordinal()] += amount;
             return this;
         }
 
         public Builder receiveOre(int amount) {
             assert amount >= 0;
-            receive.merge(Resource.ORE, amount, Integer::sum);
+            receive[Resource.ORE.ordinal()] += amount;
             return this;
         }
 
         public Builder receiveGrain(int amount) {
             assert amount >= 0;
-            receive.merge(Resource.GRAIN, amount, Integer::sum);
+            receive[Resource.GRAIN.ordinal()] += amount;
             return this;
         }
 
         public Builder receiveWool(int amount) {
             assert amount >= 0;
-            receive.merge(Resource.WOOL, amount, Integer::sum);
+            receive[Resource.WOOL.ordinal()] += amount;
             return this;
         }
     }
@@ -0,0 +1,224 @@
+package com.settlers.game;
+
+import com.settlers.game.states.Actions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Standing trade orders from every player of a game. An order gives one cost vector, as made by
+ * {@link Inventory#cost(int, int, int, int, int)}, for another, and two orders match when each gives exactly what
+ * the other wants and both owners hold what they give. As only the current player may trade, every match pairs one of
+ * the current player's orders with an order of another player.
+ * <p>
+ * Orders live in parallel arrays indexed by order id, and whether the owner of an order can afford it is kept in a
+ * bit set. The bits of a player's orders are only recomputed when that player's inventory has changed since they were
+ * last looked at, so matching after a few trades does not revisit the orders of uninvolved players.
+ */
+public final class TradeBook {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Game game;
+    private byte[] owners = new byte[INITIAL_CAPACITY];
+    private long[] gives = new long[INITIAL_CAPACITY];
+    private long[] wants = new long[INITIAL_CAPACITY];
+    private long[] open = new long[1];
+    private long[] affordable = new long[1];
+    private final long[] modCounts = new long[Color.values().length];
+    private int capacity;
+    private int size;
+
+    public TradeBook(Game game) {
+        assert game != null;
+        this.game = game;
+        Arrays.fill(modCounts, -1);
+    }
+
+    /**
+     * Adds an order of the given player and returns its id, or -1 if the order gives or wants nothing, gives and
+     * wants the same resource or the player is not in the game. Ids of cancelled and settled orders are reused.
+     */
+    public int post(Player player, long give, long want) {
+        if (!game.hasPlayer(player.color())) return -1;
+        if (give == 0 || want == 0) return -1;
+        for (Resource resource : Resource.values()) {
+            if (Inventory.amount(give, resource) > 0 && Inventory.amount(want, resource) > 0) return -1;
+        }
+
+        int order = nextFreeOrder();
+        owners[order] = (byte) player.color().ordinal();
+        gives[order] = give;
+        wants[order] = want;
+        open[order >>> 6] |= 1L << order;
+        if (game.getPlayer(player.color()).inventory().canAfford(give)) affordable[order >>> 6] |= 1L << order;
+        else affordable[order >>> 6] &= ~(1L << order);
+        size++;
+
+        return order;
+    }
+
+    public boolean cancel(int order) {
+        if (!isOpen(order)) return false;
+
+        open[order >>> 6] &= ~(1L << order);
+        size--;
+
+        return true;
+    }
+
+    public void cancelAll(Player player) {
+        for (int order = 0; order < capacity; order++) {
+            if (isOpen(order) && owners[order] == player.color().ordinal()) cancel(order);
+        }
+    }
+
+    public boolean isOpen(int order) {
+        return order >= 0 && order < capacity && (open[order >>> 6] & 1L << order) != 0;
+    }
+
+    public Color getOwner(int order) {
+        return Color.values()[owners[order]];
+    }
+
+    public long getGive(int order) {
+        return gives[order];
+    }
+
+    public long getWant(int order) {
+        return wants[order];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the trades the current player could make right now against the open orders, each offered by the
+     * current player. Orders are matched greedily in id order and each order is used at most once.
+     */
+    public List<Trade> matches() {
+        refresh();
+        List<Trade> trades = new ArrayList<>();
+        long[] used = new long[open.length];
+        Player current = game.getCurrentPlayer();
+        for (int order = nextCandidate(current, 0, used); order >= 0; order = nextCandidate(current, order + 1, used)) {
+            int counter = findCounter(order, used);
+            if (counter < 0) continue;
+
+            used[order >>> 6] |= 1L << order;
+            used[counter >>> 6] |= 1L << counter;
+            trades.add(new Trade(current, game.getPlayer(getOwner(counter)), gives[order], wants[order]));
+        }
+
+        return trades;
+    }
+
+    /**
+     * Carries out every match in one pass through the game's current state and returns how many trades were made.
+     */
+    public int settle() {
+        return settle(game.getState());
+    }
+
+    /**
+     * Carries out every match in one pass and returns how many trades were made. Each match is offered and accepted
+     * back to back through the given actions, so the usual rules apply and a recorder in front of the game logs the
+     * trades; a match that is no longer feasible when its turn comes is skipped and its orders stay open. Settled
+     * orders are closed.
+     */
+    public int settle(Actions actions) {
+        refresh();
+        Player current = game.getCurrentPlayer();
+        int trades = 0;
+        for (int order = nextCandidate(current, 0, null); order >= 0; order = nextCandidate(current, order + 1, null)) {
+            int counter = findCounter(order, null);
+            if (counter < 0) continue;
+
+            Player receiving = game.getPlayer(getOwner(counter));
+            if (!actions.offerTrade(current, new Trade(current, receiving, gives[order], wants[order]))) continue;
+            if (!actions.acceptTrade(receiving)) {
+                actions.declineTrade(receiving);
+                continue;
+            }
+
+            cancel(order);
+            cancel(counter);
+            trades++;
+            refresh();
+        }
+
+        return trades;
+    }
+
+    // returns the first open, affordable order of the player at or after the given id
+    private int nextCandidate(Player player, int from, long[] used) {
+        byte owner = (byte) player.color().ordinal();
+        for (int order = from; order < capacity; order++) {
+            if (isAvailable(order, used) && owners[order] == owner) return order;
+        }
+
+        return -1;
+    }
+
+    // returns the first open, affordable order of another player that gives what the order wants and wants what it gives
+    private int findCounter(int order, long[] used) {
+        long give = gives[order];
+        long want = wants[order];
+        for (int counter = 0; counter < capacity; counter++) {
+            if (gives[counter] != want || wants[counter] != give) continue;
+            if (owners[counter] == owners[order] || !isAvailable(counter, used)) continue;
+
+            return counter;
+        }
+
+        return -1;
+    }
+
+    private boolean isAvailable(int order, long[] used) {
+        long bit = 1L << order;
+        int word = order >>> 6;
+        return (open[word] & affordable[word] & bit) != 0 && (used == null || (used[word] & bit) == 0);
+    }
+
+    // recomputes the affordable bits of the orders whose owner's inventory changed since the last refresh
+    private void refresh() {
+        int changed = 0;
+        for (Player player : game.getPlayers()) {
+            long modCount = player.inventory().modCount();
+            if (modCounts[player.color().ordinal()] == modCount) continue;
+
+            modCounts[player.color().ordinal()] = modCount;
+            changed |= 1 << player.color().ordinal();
+        }
+        if (changed == 0) return;
+
+        for (int order = 0; order < capacity; order++) {
+            if ((changed & 1 << owners[order]) == 0 || !isOpen(order)) continue;
+
+            Inventory inventory = game.getPlayer(getOwner(order)).inventory();
+            if (inventory.canAfford(gives[order])) affordable[order >>> 6] |= 1L << order;
+            else affordable[order >>> 6] &= ~(1L << order);
+        }
+    }
+
+    private int nextFreeOrder() {
+        for (int word = 0; word < open.length; word++) {
+            if (open[word] == -1L) continue;
+
+            int order = word << 6 | Long.numberOfTrailingZeros(~open[word]);
+            if (order < capacity) return order;
+        }
+        if (capacity == owners.length) {
+            owners = Arrays.copyOf(owners, capacity * 2);
+            gives = Arrays.copyOf(gives, capacity * 2);
+            wants = Arrays.copyOf(wants, capacity * 2);
+        }
+        if (capacity >>> 6 == open.length) {
+            open = Arrays.copyOf(open, open.length + 1);
+            affordable = Arrays.copyOf(affordable, affordable.length + 1);
+        }
+
+        return capacity++;
+    }
+}
@@ -0,0 +1,62 @@
+package com.settlers.game;
+
+/**
+ * Keys for incremental Zobrist hashing. Keys are derived from the feature they describe with a
+ * SplitMix64 finalizer rather than looked up in random tables, so they are stable across runs and
+ * need no sizing per board.
+ */
+final class Zobrist {
+    private static final long BUILDING = 0x9E3779B97F4A7C15L;
+    private static final long ROAD = 0xC2B2AE3D27D4EB4FL;
+    private static final long ROBBER = 0x165667B19E3779F9L;
+    private static final long RESOURCE = 0xD6E8FEB86659FD93L;
+    private static final long DEVELOPMENT_CARD = 0xFF51AFD7ED558CCDL;
+    private static final long PIECES = 0xC4CEB9FE1A85EC53L;
+    private static final long INVENTORY = 0x94D049BB133111EBL;
+    private static final long CURRENT_PLAYER = 0xBF58476D1CE4E5B9L;
+    private static final long STATE = 0x2545F4914F6CDD1DL;
+
+    private Zobrist() {}
+
+    static long building(int vertex, Building building) {
+        return mix(BUILDING + ((long) vertex << 8 | building.color().ordinal() << 1 | building.type().ordinal()));
+    }
+
+    static long road(int edge, Color color) {
+        return mix(ROAD + ((long) edge << 8 | color.ordinal()));
+    }
+
+    static long robber(int tile) {
+        return mix(ROBBER + tile);
+    }
+
+    static long resource(Resource resource, int amount) {
+        return mix(RESOURCE + ((long) amount << 8 | resource.ordinal()));
+    }
+
+    static long developmentCard(DevelopmentCard developmentCard, int amount) {
+        return mix(DEVELOPMENT_CARD + ((long) amount << 8 | developmentCard.ordinal()));
+    }
+
+    static long pieces(int settlements, int cities, int roads, int usedKnights) {
+        return mix(PIECES + ((long) settlements << 48 | (long) cities << 32 | (long) roads << 16 | usedKnights));
+    }
+
+    static long inventory(Color color, long hash) {
+        return mix(INVENTORY + color.ordinal() ^ hash);
+    }
+
+    static long currentPlayer(int index) {
+        return mix(CURRENT_PLAYER + index);
+    }
+
+    static long state(Class<?> type) {
+        return mix(STATE + type.getName().hashCode());
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
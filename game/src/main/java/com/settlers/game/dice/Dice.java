@@ -1,5 +1,7 @@
 package com.settlers.game.dice;
 
+import java.util.random.RandomGenerator;
+
 public interface Dice {
-    int roll();
+    int roll(RandomGenerator rng);
 }
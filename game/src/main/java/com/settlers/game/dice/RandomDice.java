@@ -1,20 +1,18 @@
 package com.settlers.game.dice;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class RandomDice implements Dice {
-    private final Random rng;
+    private static final RandomDice INSTANCE = new RandomDice();
 
-    private RandomDice() {
-        this.rng = new Random();
-    }
+    private RandomDice() {}
 
     public static RandomDice create() {
-        return new RandomDice();
+        return INSTANCE;
     }
 
     @Override
-    public int roll() {
+    public int roll(RandomGenerator rng) {
         int firstRoll = rng.nextInt(1, 7);
         int secondRoll = rng.nextInt(1, 7);
 
@@ -3,6 +3,7 @@ package com.settlers.game.dice;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.random.RandomGenerator;
 
 public class TestingDice implements Dice {
     private final List<Integer> rolls;
@@ -19,7 +20,7 @@ public class TestingDice implements Dice {
     }
 
     @Override
-    public int roll() {
+    public int roll(RandomGenerator rng) {
         if (rolls.size() == idx) {
             idx = 0;
         }
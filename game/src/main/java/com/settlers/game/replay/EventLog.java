@@ -0,0 +1,145 @@
+package com.settlers.game.replay;
+
+import com.settlers.game.Color;
+import com.settlers.game.Inventory;
+import com.settlers.game.Resource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An append-only log of game events, each packed into a long: the {@link EventType} in the low five bits, the color
+ * of the acting player in the next three and the arguments of the call above them. Ids of vertices, edges and tiles
+ * refer to the board topology, and random outcomes such as the roll or the stolen resource are part of the event.
+ */
+public final class EventLog {
+    private static final EventType[] TYPES = EventType.values();
+    private static final Color[] COLORS = Color.values();
+    private static final Resource[] RESOURCES = Resource.values();
+    private static final int PAYLOAD_SHIFT = 8;
+    private static final int WIDE_LANE = 11;
+    private static final int WIDE_LANE_MASK = (1 << WIDE_LANE) - 1;
+
+    private long[] events = new long[256];
+    private int size;
+
+    public void add(long event) {
+        if (size == events.length) events = Arrays.copyOf(events, size * 2);
+        events[size++] = event;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return events[index];
+    }
+
+    /**
+     * Drops every event from the given index on.
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > this.size) throw new IndexOutOfBoundsException(size);
+        this.size = size;
+    }
+
+    public void write(ByteBuffer buffer) {
+        assert buffer != null;
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(events[i]);
+        }
+    }
+
+    public static EventLog read(ByteBuffer buffer) {
+        assert buffer != null;
+        int size = buffer.getInt();
+        if (size < 0) throw new IllegalArgumentException("Negative event count " + size);
+        EventLog log = new EventLog();
+        log.events = new long[Math.max(256, size)];
+        for (int i = 0; i < size; i++) {
+            log.events[i] = buffer.getLong();
+        }
+        log.size = size;
+
+        return log;
+    }
+
+    public static EventType type(long event) {
+        return TYPES[(int) (event & 0x1F)];
+    }
+
+    public static Color color(long event) {
+        return COLORS[(int) (event >>> 5 & 0x7)];
+    }
+
+    static long event(EventType type, Color color, long payload) {
+        return type.ordinal() | (long) color.ordinal() << 5 | payload << PAYLOAD_SHIFT;
+    }
+
+    static long payload(long event) {
+        return event >>> PAYLOAD_SHIFT;
+    }
+
+    static Resource resource(long payload, int shift) {
+        return RESOURCES[(int) (payload >>> shift & 0x7)];
+    }
+
+    static Color color(long payload, int shift) {
+        return COLORS[(int) (payload >>> shift & 0x7)];
+    }
+
+    /**
+     * Packs amounts of the five real resources into 55 bits, eleven bits each, which holds any amount an inventory
+     * can hold.
+     */
+    static long packResources(Map<Resource, Integer> resources) {
+        long packed = 0;
+        for (Map.Entry<Resource, Integer> entry : resources.entrySet()) {
+            if (entry.getKey() == Resource.NOTHING) continue;
+            int amount = entry.getValue();
+            if (amount < 0 || amount > WIDE_LANE_MASK) throw new IllegalArgumentException("Cannot log amount " + amount);
+            packed |= (long) amount << entry.getKey().ordinal() * WIDE_LANE;
+        }
+
+        return packed;
+    }
+
+    /**
+     * Packs a cost vector into 25 bits, five bits each, so two fit in one event with a color.
+     */
+    static long packResources(long resources) {
+        long packed = 0;
+        for (Resource resource : RESOURCES) {
+            int amount = Inventory.amount(resources, resource);
+            if (amount > 31) throw new IllegalArgumentException("Cannot log amount " + amount);
+            packed |= (long) amount << resource.ordinal() * 5;
+        }
+
+        return packed;
+    }
+
+    static long unpackVector(long packed) {
+        long resources = 0;
+        for (Resource resource : RESOURCES) {
+            if (resource == Resource.NOTHING) continue;
+            resources += Inventory.cost(resource, (int) (packed >>> resource.ordinal() * 5 & 0x1F));
+        }
+
+        return resources;
+    }
+
+    static Map<Resource, Integer> unpackResources(long packed) {
+        Map<Resource, Integer> resources = new EnumMap<>(Resource.class);
+        for (Resource resource : RESOURCES) {
+            if (resource == Resource.NOTHING) continue;
+            resources.put(resource, (int) (packed >>> resource.ordinal() * WIDE_LANE & WIDE_LANE_MASK));
+        }
+
+        return resources;
+    }
+}
@@ -0,0 +1,22 @@
+package com.settlers.game.replay;
+
+/**
+ * The successful {@link com.settlers.game.states.State} calls an {@link EventLog} records, one per method.
+ */
+public enum EventType {
+    ROLL_DICE,
+    ADD_BUILDING,
+    ADD_ROAD,
+    DISCARD_RESOURCES,
+    MOVE_ROBBER,
+    STEAL_RESOURCE,
+    OFFER_TRADE,
+    ACCEPT_TRADE,
+    DECLINE_TRADE,
+    END_TURN,
+    YEAR_OF_PLENTY,
+    MONOPOLY,
+    BUY_DEVELOPMENT_CARD,
+    USE_DEVELOPMENT_CARD,
+    EXCHANGE
+}
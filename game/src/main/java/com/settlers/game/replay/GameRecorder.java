@@ -0,0 +1,178 @@
+package com.settlers.game.replay;
+
+import com.settlers.game.*;
+import com.settlers.game.states.Actions;
+
+import java.util.Map;
+
+/**
+ * Forwards every call to the current state of a game and appends the calls that succeed to an {@link EventLog},
+ * together with their random outcomes. Players act through the recorder instead of {@link Game#getState()}.
+ * Arguments that cannot be logged, such as a trade of more than 31 of one resource, are rejected with an
+ * {@link IllegalArgumentException} before the call is forwarded, so the game never gets ahead of its log.
+ */
+public final class GameRecorder implements Actions {
+    private final Game game;
+    private final EventLog log;
+    private final int[] before = new int[Math.max(Resource.values().length, DevelopmentCard.values().length)];
+
+    public GameRecorder(Game game, EventLog log) {
+        assert game != null;
+        assert log != null;
+        this.game = game;
+        this.log = log;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public EventLog getLog() {
+        return log;
+    }
+
+    @Override
+    public boolean rollDice(Player player) {
+        if (!game.getState().rollDice(player)) return false;
+
+        log.add(EventLog.event(EventType.ROLL_DICE, player.color(), game.getLastRoll()));
+        return true;
+    }
+
+    @Override
+    public boolean addBuilding(Player player, Position position, Building building) {
+        if (!game.getState().addBuilding(player, position, building)) return false;
+
+        int vertex = game.getBoard().getTopology().getVertex(position);
+        log.add(EventLog.event(EventType.ADD_BUILDING, player.color(), building.type().ordinal() | vertex << 1));
+        return true;
+    }
+
+    @Override
+    public boolean addRoad(Player player, Position position, Road road) {
+        if (!game.getState().addRoad(player, position, road)) return false;
+
+        log.add(EventLog.event(EventType.ADD_ROAD, player.color(), game.getBoard().getTopology().getEdge(position)));
+        return true;
+    }
+
+    @Override
+    public boolean discardResources(Player player, Map<Resource, Integer> resources) {
+        long payload = EventLog.packResources(resources);
+        if (!game.getState().discardResources(player, resources)) return false;
+
+        log.add(EventLog.event(EventType.DISCARD_RESOURCES, player.color(), payload));
+        return true;
+    }
+
+    @Override
+    public boolean moveRobber(Player player, Coordinate coordinate) {
+        if (!game.getState().moveRobber(player, coordinate)) return false;
+
+        log.add(EventLog.event(EventType.MOVE_ROBBER, player.color(), game.getBoard().getTopology().getTile(coordinate)));
+        return true;
+    }
+
+    @Override
+    public boolean stealResource(Player player, Player playerToStealFrom) {
+        Inventory inventory = game.getPlayer(player.color()).inventory();
+        for (Resource resource : Resource.values()) {
+            if (resource != Resource.NOTHING) before[resource.ordinal()] = inventory.getResource(resource);
+        }
+        if (!game.getState().stealResource(player, playerToStealFrom)) return false;
+
+        // nothing is stolen from a player without resources
+        Resource stolen = Resource.NOTHING;
+        for (Resource resource : Resource.values()) {
+            if (resource != Resource.NOTHING && inventory.getResource(resource) > before[resource.ordinal()]) stolen = resource;
+        }
+        long payload = playerToStealFrom.color().ordinal() | stolen.ordinal() << 3;
+        log.add(EventLog.event(EventType.STEAL_RESOURCE, player.color(), payload));
+        return true;
+    }
+
+    @Override
+    public boolean offerTrade(Player player, Trade trade) {
+        long payload = trade.receivingPlayer().color().ordinal() |
+                EventLog.packResources(trade.offer()) << 3 |
+                EventLog.packResources(trade.receive()) << 28;
+        if (!game.getState().offerTrade(player, trade)) return false;
+
+        log.add(EventLog.event(EventType.OFFER_TRADE, player.color(), payload));
+        return true;
+    }
+
+    @Override
+    public boolean acceptTrade(Player player) {
+        if (!game.getState().acceptTrade(player)) return false;
+
+        log.add(EventLog.event(EventType.ACCEPT_TRADE, player.color(), 0));
+        return true;
+    }
+
+    @Override
+    public boolean declineTrade(Player player) {
+        if (!game.getState().declineTrade(player)) return false;
+
+        log.add(EventLog.event(EventType.DECLINE_TRADE, player.color(), 0));
+        return true;
+    }
+
+    @Override
+    public boolean endTurn(Player player) {
+        if (!game.getState().endTurn(player)) return false;
+
+        log.add(EventLog.event(EventType.END_TURN, player.color(), 0));
+        return true;
+    }
+
+    @Override
+    public boolean yearOfPlenty(Player player, Resource firstResource, Resource secondResource) {
+        if (!game.getState().yearOfPlenty(player, firstResource, secondResource)) return false;
+
+        long payload = firstResource.ordinal() | secondResource.ordinal() << 3;
+        log.add(EventLog.event(EventType.YEAR_OF_PLENTY, player.color(), payload));
+        return true;
+    }
+
+    @Override
+    public boolean monopoly(Player player, Resource resource) {
+        if (!game.getState().monopoly(player, resource)) return false;
+
+        log.add(EventLog.event(EventType.MONOPOLY, player.color(), resource.ordinal()));
+        return true;
+    }
+
+    @Override
+    public boolean buyDevelopmentCard(Player player) {
+        Inventory inventory = game.getPlayer(player.color()).inventory();
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            before[developmentCard.ordinal()] = inventory.getDevelopmentCard(developmentCard);
+        }
+        if (!game.getState().buyDevelopmentCard(player)) return false;
+
+        DevelopmentCard drawn = null;
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            if (inventory.getDevelopmentCard(developmentCard) > before[developmentCard.ordinal()]) drawn = developmentCard;
+        }
+        assert drawn != null;
+        log.add(EventLog.event(EventType.BUY_DEVELOPMENT_CARD, player.color(), drawn.ordinal()));
+        return true;
+    }
+
+    @Override
+    public boolean useDevelopmentCard(Player player, DevelopmentCard developmentCard) {
+        if (!game.getState().useDevelopmentCard(player, developmentCard)) return false;
+
+        log.add(EventLog.event(EventType.USE_DEVELOPMENT_CARD, player.color(), developmentCard.ordinal()));
+        return true;
+    }
+
+    @Override
+    public boolean exchange(Player player, Resource offer, Resource receive) {
+        if (!game.getState().exchange(player, offer, receive)) return false;
+
+        log.add(EventLog.event(EventType.EXCHANGE, player.color(), offer.ordinal() | receive.ordinal() << 3));
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package com.settlers.game.replay;
+
+import com.settlers.game.Game;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Walks a {@link ReplayStore} one event at a time in either direction. Stepping forward replays the next event under
+ * a journal mark, so stepping back is an undo. Stepping back past the point the cursor was last placed at rebuilds the
+ * game from the checkpoint before it, which makes reverse stepping cost O(1) amortized.
+ */
+public final class ReplayCursor {
+    private final ReplayStore store;
+    private Game game;
+    private int position;
+    // steps back beyond this position have no journal mark to undo
+    private int base;
+
+    ReplayCursor(ReplayStore store, int position) {
+        this.store = store;
+        place(position);
+    }
+
+    /**
+     * Returns the game at the current position. It is replaced when the cursor is placed anew, and should not be
+     * changed other than through the cursor.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public boolean hasNext() {
+        return position < store.size();
+    }
+
+    public boolean hasPrevious() {
+        return position > 0;
+    }
+
+    public void next() {
+        if (!hasNext()) throw new NoSuchElementException("No more events");
+
+        game.mark();
+        Replayer.apply(game, store.getLog().get(position));
+        position++;
+    }
+
+    public void previous() {
+        if (!hasPrevious()) throw new NoSuchElementException("No earlier events");
+
+        if (position > base) {
+            game.undo();
+            position--;
+            return;
+        }
+        int target = position - 1;
+        place(target - target % store.getInterval());
+        while (position < target) next();
+    }
+
+    /**
+     * Moves to the given position, stepping when it is at most one checkpoint interval ahead and otherwise
+     * rebuilding the game from the checkpoint before it.
+     */
+    public void seek(int position) {
+        if (position < 0 || position > store.size()) throw new IndexOutOfBoundsException(position);
+
+        if (position >= this.position && position - this.position <= store.getInterval()) {
+            while (this.position < position) next();
+        } else {
+            place(position);
+        }
+    }
+
+    private void place(int position) {
+        this.game = store.seek(position);
+        this.position = position;
+        this.base = position;
+    }
+}
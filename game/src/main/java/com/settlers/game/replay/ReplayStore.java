@@ -0,0 +1,106 @@
+package com.settlers.game.replay;
+
+import com.settlers.game.Game;
+import com.settlers.game.GameCodec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An event log with an encoded checkpoint of the game every {@code interval} events, so the game after any number of
+ * events is rebuilt by decoding the checkpoint before it and replaying at most {@code interval - 1} events.
+ * The checkpoints are kept back to back in one array, and the scratch buffer they are encoded into doubles whenever
+ * a checkpoint does not fit, so large boards need no sizing up front.
+ */
+public final class ReplayStore {
+    private static final int INITIAL_CHECKPOINT_SIZE = 4096;
+
+    private final EventLog log;
+    private final int interval;
+    private byte[] checkpoints = new byte[INITIAL_CHECKPOINT_SIZE];
+    private int[] offsets = new int[16];
+    private int checkpointCount;
+
+    private ReplayStore(EventLog log, int interval) {
+        this.log = log;
+        this.interval = interval;
+    }
+
+    /**
+     * Builds a store for a log recorded from the given game, which is left unchanged.
+     */
+    public static ReplayStore of(Game start, EventLog log, int interval) {
+        assert start != null;
+        assert log != null;
+        if (interval < 1) throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+
+        ReplayStore store = new ReplayStore(log, interval);
+        Game game = start.fork();
+        ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CHECKPOINT_SIZE);
+        for (int event = 0; event <= log.size(); event++) {
+            if (event % interval == 0) buffer = store.addCheckpoint(game, buffer);
+            if (event < log.size()) Replayer.apply(game, log.get(event));
+        }
+
+        return store;
+    }
+
+    public EventLog getLog() {
+        return log;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Returns the number of events, which is also the last position that can be sought.
+     */
+    public int size() {
+        return log.size();
+    }
+
+    /**
+     * Rebuilds the game as it was after the given number of events.
+     */
+    public Game seek(int position) {
+        if (position < 0 || position > log.size()) throw new IndexOutOfBoundsException(position);
+
+        int checkpoint = position / interval;
+        int offset = offsets[checkpoint];
+        Game game = GameCodec.read(ByteBuffer.wrap(checkpoints, offset, offsets[checkpoint + 1] - offset));
+        Replayer.replay(game, log, checkpoint * interval, position);
+
+        return game;
+    }
+
+    /**
+     * Returns a cursor positioned after the given number of events.
+     */
+    public ReplayCursor cursor(int position) {
+        return new ReplayCursor(this, position);
+    }
+
+    // returns the buffer the checkpoint was encoded into, which is larger than the given one if that overflowed
+    private ByteBuffer addCheckpoint(Game game, ByteBuffer buffer) {
+        while (true) {
+            buffer.clear();
+            try {
+                GameCodec.write(game, buffer);
+                break;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+        int start = offsets[checkpointCount];
+        if (start + buffer.position() > checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, Math.max(checkpoints.length * 2, start + buffer.position()));
+        }
+        System.arraycopy(buffer.array(), 0, checkpoints, start, buffer.position());
+        if (checkpointCount + 2 > offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        offsets[++checkpointCount] = start + buffer.position();
+
+        return buffer;
+    }
+}
@@ -0,0 +1,80 @@
+package com.settlers.game.replay;
+
+import com.settlers.game.*;
+import com.settlers.game.states.State;
+
+/**
+ * Applies logged events to a game. Replaying a log on the game it was recorded from, in the position it had when
+ * recording started, rebuilds the recorded game exactly: rolls and steals are forced to their logged outcomes.
+ * The random stream stays in step with the original as long as the replaying game has the same kind of dice.
+ */
+public final class Replayer {
+    private Replayer() {}
+
+    public static void replay(Game game, EventLog log) {
+        replay(game, log, 0, log.size());
+    }
+
+    public static void replay(Game game, EventLog log, int from, int to) {
+        assert game != null;
+        assert log != null;
+        for (int i = from; i < to; i++) {
+            apply(game, log.get(i));
+        }
+    }
+
+    /**
+     * Applies a single event.
+     *
+     * @throws IllegalStateException if the event is not legal in the current state of the game, or if a bought
+     *                               development card is not the logged one
+     */
+    public static void apply(Game game, long event) {
+        Player player = game.getPlayer(EventLog.color(event));
+        Topology topology = game.getBoard().getTopology();
+        State state = game.getState();
+        long payload = EventLog.payload(event);
+        boolean applied = switch (EventLog.type(event)) {
+            case ROLL_DICE -> {
+                game.forceRoll((int) payload);
+                yield state.rollDice(player);
+            }
+            case ADD_BUILDING -> {
+                Building.Type type = Building.Type.values()[(int) (payload & 1)];
+                yield state.addBuilding(player, topology.getVertexPosition((int) (payload >>> 1)), Building.of(player.color(), type));
+            }
+            case ADD_ROAD -> state.addRoad(player, topology.getEdgePosition((int) payload), Road.of(player.color()));
+            case DISCARD_RESOURCES -> state.discardResources(player, EventLog.unpackResources(payload));
+            case MOVE_ROBBER -> state.moveRobber(player, topology.getCoordinate((int) payload));
+            case STEAL_RESOURCE -> {
+                Resource stolen = EventLog.resource(payload, 3);
+                if (stolen != Resource.NOTHING) game.forceSteal(stolen);
+                yield state.stealResource(player, game.getPlayer(EventLog.color(payload, 0)));
+            }
+            case OFFER_TRADE -> {
+                Trade trade = new Trade(player,
+                        game.getPlayer(EventLog.color(payload, 0)),
+                        EventLog.unpackVector(payload >>> 3),
+                        EventLog.unpackVector(payload >>> 28));
+                yield state.offerTrade(player, trade);
+            }
+            case ACCEPT_TRADE -> state.acceptTrade(player);
+            case DECLINE_TRADE -> state.declineTrade(player);
+            case END_TURN -> state.endTurn(player);
+            case YEAR_OF_PLENTY -> state.yearOfPlenty(player, EventLog.resource(payload, 0), EventLog.resource(payload, 3));
+            case MONOPOLY -> state.monopoly(player, EventLog.resource(payload, 0));
+            case BUY_DEVELOPMENT_CARD -> {
+                // the deck order is part of the game, so the drawn card follows from it and must be the logged one
+                DevelopmentCard logged = DevelopmentCard.values()[(int) payload];
+                int held = player.inventory().getDevelopmentCard(logged);
+                yield state.buyDevelopmentCard(player) && player.inventory().getDevelopmentCard(logged) == held + 1;
+            }
+            case USE_DEVELOPMENT_CARD -> state.useDevelopmentCard(player, DevelopmentCard.values()[(int) payload]);
+            case EXCHANGE -> state.exchange(player, EventLog.resource(payload, 0), EventLog.resource(payload, 3));
+        };
+        if (!applied) {
+            throw new IllegalStateException("Cannot replay " + EventLog.type(event) + " by " + player.color() +
+                    " in " + state.getClass().getSimpleName());
+        }
+    }
+}
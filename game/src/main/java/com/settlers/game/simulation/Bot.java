@@ -0,0 +1,24 @@
+package com.settlers.game.simulation;
+
+import com.settlers.game.Color;
+import com.settlers.game.Game;
+import com.settlers.game.Player;
+import com.settlers.game.states.LegalMoves;
+
+/**
+ * A policy that plays for one player by calling the methods of the game's current state.
+ */
+@FunctionalInterface
+public interface Bot {
+    /**
+     * Performs a single action for the player. The moves are never empty.
+     *
+     * @return false if the bot did not act, which stops the game
+     */
+    boolean act(Game game, Player player, LegalMoves moves);
+
+    @FunctionalInterface
+    interface Factory {
+        Bot create(Color color, long seed);
+    }
+}
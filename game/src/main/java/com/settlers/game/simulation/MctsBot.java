@@ -0,0 +1,297 @@
+package com.settlers.game.simulation;
+
+import com.settlers.game.Color;
+import com.settlers.game.Game;
+import com.settlers.game.Player;
+import com.settlers.game.dice.RandomDice;
+import com.settlers.game.states.LegalMoves;
+import com.settlers.game.states.WinnerState;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo tree search over the moves from {@link Moves}. Each search thread plays on its own fork of the game
+ * and reverts every iteration with the undo journal. Threads share a tree (tree parallelism) or, when there are several
+ * trees, are spread over independent trees whose root visits are summed (root parallelism). Dice rolls are chance
+ * nodes with one child per sum, sampled with the real probabilities. Other hidden randomness, such as steals and
+ * drawn development cards, is sampled anew on every iteration.
+ *
+ * <p>A search stops at the time budget or after the iteration budget, whichever comes first. Rollouts check the
+ * deadline as well, so a move is answered within a fraction of a millisecond of the time budget once the search
+ * threads are running.
+ */
+public class MctsBot implements Bot {
+    private final int threads;
+    private final int trees;
+    private final long timeBudget;
+    private final int iterations;
+    private final double exploration;
+    private final int rolloutActions;
+    private final ExecutorService executor;
+    private final SplittableRandom rng;
+
+    private MctsBot(int threads,
+                    int trees,
+                    long timeBudget,
+                    int iterations,
+                    double exploration,
+                    int rolloutActions,
+                    ExecutorService executor,
+                    long seed) {
+        assert trees <= threads;
+        this.threads = threads;
+        this.trees = trees;
+        this.timeBudget = timeBudget;
+        this.iterations = iterations;
+        this.exploration = exploration;
+        this.rolloutActions = rolloutActions;
+        this.executor = Objects.requireNonNull(executor);
+        this.rng = new SplittableRandom(seed);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean act(Game game, Player player, LegalMoves moves) {
+        int[] candidates = Moves.generate(game, moves);
+        if (candidates.length == 0) return false;
+        if (candidates.length == 1) return Moves.apply(game, player, candidates[0]);
+
+        return Moves.apply(game, player, search(game, player, candidates));
+    }
+
+    private int search(Game game, Player player, int[] candidates) {
+        long deadline = System.nanoTime() + timeBudget;
+        AtomicInteger remaining = new AtomicInteger(iterations);
+        Node[] roots = new Node[trees];
+        for (int tree = 0; tree < trees; tree++) {
+            // the root children are the candidates in order, so their visits are tallied by candidate index
+            roots[tree] = new Node(0, -1);
+            roots[tree].expand(candidates, player.color().ordinal());
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            Node root = roots[thread % trees];
+            SplittableRandom threadRng = rng.split();
+            tasks.add(() -> {
+                searchTree(game, player, root, threadRng, deadline, remaining);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+
+        long[] visits = new long[candidates.length];
+        for (Node root : roots) {
+            Node.Children children = root.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                Node child = children.peek(i);
+                if (child != null) visits[i] += child.visits();
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < candidates.length; i++) {
+            if (visits[i] > visits[best]) best = i;
+        }
+
+        return candidates[best];
+    }
+
+    private void searchTree(Game game,
+                            Player player,
+                            Node root,
+                            SplittableRandom rng,
+                            long deadline,
+                            AtomicInteger remaining) {
+        // searches roll fair dice, whatever dice the game itself uses
+        Game simulation = game.fork(RandomDice.create());
+        Player searcher = simulation.getPlayer(player.color());
+        RandomBot rollout = RandomBot.of(rng.split());
+        List<Node> path = new ArrayList<>();
+        while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+            simulation.mark();
+            // undo rewinds the random stream, so every iteration starts its own
+            simulation.reseed(rng.nextLong());
+            simulation.shuffleDevelopmentCards(rng);
+            path.clear();
+            path.add(root);
+            root.addVirtualLoss();
+            descend(simulation, root, searcher, rng, path);
+            rollout(simulation, rollout, deadline);
+            double[] rewards = evaluate(simulation);
+            for (Node node : path) {
+                if (node.actor >= 0) node.update(rewards[node.actor]);
+            }
+            simulation.undo();
+        }
+    }
+
+    private void descend(Game simulation, Node root, Player searcher, SplittableRandom rng, List<Node> path) {
+        Node node = root;
+        while (!(simulation.getState() instanceof WinnerState)) {
+            // the root belongs to the player the search is for, who need not be the next actor, e.g. when discarding
+            Player actor = node == root ? searcher : Simulator.nextActor(simulation);
+            if (actor == null) return;
+
+            Node.Children children = node.getChildren();
+            if (children == null) {
+                int[] moves = Moves.generate(simulation, simulation.getLegalMoves(actor));
+                if (moves.length == 0) return;
+                children = node.expand(moves, actor.color().ordinal());
+            }
+
+            Node child;
+            if (children.isChance()) {
+                int roll = rng.nextInt(1, 7) + rng.nextInt(1, 7);
+                simulation.forceRoll(roll);
+                child = children.get(roll - 2);
+            } else {
+                child = select(node, children, rng);
+            }
+            boolean isNew = child.addVirtualLoss() == 1;
+            path.add(child);
+            // open loop: the same path can lead to a different position, in which the move may not be legal
+            if (!Moves.apply(simulation, actor, child.move)) return;
+            if (isNew) return;
+            node = child;
+        }
+    }
+
+    private Node select(Node node, Node.Children children, SplittableRandom rng) {
+        double logVisits = Math.log(Math.max(1, node.visits()));
+        int offset = rng.nextInt(children.size());
+        Node best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            int index = (i + offset) % children.size();
+            Node child = children.peek(index);
+            if (child == null || child.visits() == 0) return children.get(index);
+
+            double score = child.meanValue() + exploration * Math.sqrt(logVisits / child.visits());
+            if (score > bestScore) {
+                best = child;
+                bestScore = score;
+            }
+        }
+
+        return best;
+    }
+
+    private void rollout(Game simulation, Bot policy, long deadline) {
+        for (int action = 0; action < rolloutActions; action++) {
+            if (simulation.getState() instanceof WinnerState) return;
+            if ((action & 15) == 0 && System.nanoTime() > deadline) return;
+
+            Player actor = Simulator.nextActor(simulation);
+            if (actor == null) return;
+            if (!policy.act(simulation, actor, simulation.getLegalMoves(actor))) return;
+        }
+    }
+
+    /**
+     * A win is worth 1. Unfinished games score each player by victory points, capped well below a win.
+     */
+    private static double[] evaluate(Game simulation) {
+        double[] rewards = new double[Color.values().length];
+        if (simulation.getState() instanceof WinnerState) {
+            rewards[simulation.getCurrentPlayer().color().ordinal()] = 1;
+            return rewards;
+        }
+        for (Player player : simulation.getPlayers()) {
+            rewards[player.color().ordinal()] = 0.05 * Math.min(simulation.getVictoryPoints(player), 10);
+        }
+
+        return rewards;
+    }
+
+    public static final class Builder {
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int trees = 1;
+        private Duration timeBudget = Duration.ofMillis(100);
+        private int iterations = Integer.MAX_VALUE;
+        private double exploration = Math.sqrt(2);
+        private int rolloutActions = 200;
+        private ExecutorService executor = ForkJoinPool.commonPool();
+        private long seed = 0;
+
+        private Builder() {}
+
+        public MctsBot build() {
+            return new MctsBot(threads, trees, timeBudget.toNanos(), iterations, exploration, rolloutActions, executor, seed);
+        }
+
+        public Builder setThreads(int threads) {
+            assert threads > 0;
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Number of independent trees. 1 shares one tree between all threads, setting it to the number of threads
+         * gives every thread its own tree.
+         */
+        public Builder setTrees(int trees) {
+            assert trees > 0;
+            this.trees = trees;
+            return this;
+        }
+
+        public Builder setTimeBudget(Duration timeBudget) {
+            assert timeBudget != null;
+            this.timeBudget = timeBudget;
+            return this;
+        }
+
+        public Builder setIterations(int iterations) {
+            assert iterations > 0;
+            this.iterations = iterations;
+            return this;
+        }
+
+        public Builder setExploration(double exploration) {
+            assert exploration >= 0;
+            this.exploration = exploration;
+            return this;
+        }
+
+        public Builder setRolloutActions(int rolloutActions) {
+            assert rolloutActions >= 0;
+            this.rolloutActions = rolloutActions;
+            return this;
+        }
+
+        /**
+         * Executor that runs the search threads. Share one between bots to serve many games from a fixed pool.
+         */
+        public Builder setExecutor(ExecutorService executor) {
+            assert executor != null;
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.settlers.game.simulation;
+
+import com.settlers.game.*;
+import com.settlers.game.states.LegalMoves;
+import com.settlers.game.states.State;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Encodes the legal moves of a player as ints, so search trees can store them without allocating.
+ * The kind of move is kept in the high bits and its argument (a vertex, edge, tile, colour or resources) in the low bits.
+ * Discarding is a single move that gives up the most plentiful resources first.
+ */
+final class Moves {
+    static final int ROLL_DICE = 1;
+    static final int END_TURN = 2;
+    static final int SETTLEMENT = 3;
+    static final int CITY = 4;
+    static final int ROAD = 5;
+    static final int ROBBER = 6;
+    static final int STEAL = 7;
+    static final int BUY_DEVELOPMENT_CARD = 8;
+    static final int USE_DEVELOPMENT_CARD = 9;
+    static final int EXCHANGE = 10;
+    static final int MONOPOLY = 11;
+    static final int YEAR_OF_PLENTY = 12;
+    static final int DISCARD = 13;
+    static final int ACCEPT_TRADE = 14;
+    static final int DECLINE_TRADE = 15;
+
+    private static final int KIND_SHIFT = 24;
+    private static final int ARGUMENT_MASK = (1 << KIND_SHIFT) - 1;
+    private static final Resource[] RESOURCES = {
+            Resource.BRICK, Resource.LUMBER, Resource.WOOL, Resource.GRAIN, Resource.ORE
+    };
+
+    private Moves() {}
+
+    static int of(int kind, int argument) {
+        return kind << KIND_SHIFT | argument;
+    }
+
+    static int kind(int move) {
+        return move >>> KIND_SHIFT;
+    }
+
+    static int argument(int move) {
+        return move & ARGUMENT_MASK;
+    }
+
+    static int[] generate(Game game, LegalMoves moves) {
+        if (moves.canRollDice()) return new int[]{of(ROLL_DICE, 0)};
+        if (moves.getDiscardAmount() > 0) return new int[]{of(DISCARD, moves.getDiscardAmount())};
+        if (moves.canRespondToTrade()) return new int[]{of(ACCEPT_TRADE, 0), of(DECLINE_TRADE, 0)};
+
+        int[] generated = new int[16];
+        int count = 0;
+        for (int i = 0; i < moves.getRobberTileCount(); i++) {
+            generated = ensureCapacity(generated, count);
+            generated[count++] = of(ROBBER, moves.getRobberTile(i));
+        }
+        for (Player player : game.getPlayers()) {
+            if (moves.canStealFrom(player.color())) {
+                generated = ensureCapacity(generated, count);
+                generated[count++] = of(STEAL, player.color().ordinal());
+            }
+        }
+        if (moves.canMonopoly()) {
+            for (Resource resource : RESOURCES) {
+                generated = ensureCapacity(generated, count);
+                generated[count++] = of(MONOPOLY, resource.ordinal());
+            }
+        }
+        if (moves.canYearOfPlenty()) {
+            for (int first = 0; first < RESOURCES.length; first++) {
+                for (int second = first; second < RESOURCES.length; second++) {
+                    generated = ensureCapacity(generated, count);
+                    generated[count++] = of(YEAR_OF_PLENTY, RESOURCES[first].ordinal() << 8 | RESOURCES[second].ordinal());
+                }
+            }
+        }
+        for (int i = 0; i < moves.getCityCount(); i++) {
+            generated = ensureCapacity(generated, count);
+            generated[count++] = of(CITY, moves.getCity(i));
+        }
+        for (int i = 0; i < moves.getSettlementCount(); i++) {
+            generated = ensureCapacity(generated, count);
+            generated[count++] = of(SETTLEMENT, moves.getSettlement(i));
+        }
+        for (int i = 0; i < moves.getRoadCount(); i++) {
+            generated = ensureCapacity(generated, count);
+            generated[count++] = of(ROAD, moves.getRoad(i));
+        }
+        if (moves.canBuyDevelopmentCard()) {
+            generated = ensureCapacity(generated, count);
+            generated[count++] = of(BUY_DEVELOPMENT_CARD, 0);
+        }
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            if (!moves.canUseDevelopmentCard(developmentCard)) continue;
+            generated = ensureCapacity(generated, count);
+            generated[count++] = of(USE_DEVELOPMENT_CARD, developmentCard.ordinal());
+        }
+        for (Resource offer : RESOURCES) {
+            for (Resource receive : RESOURCES) {
+                if (!moves.canExchange(offer, receive)) continue;
+                generated = ensureCapacity(generated, count);
+                generated[count++] = of(EXCHANGE, offer.ordinal() << 8 | receive.ordinal());
+            }
+        }
+        if (moves.canEndTurn()) {
+            generated = ensureCapacity(generated, count);
+            generated[count++] = of(END_TURN, 0);
+        }
+
+        return Arrays.copyOf(generated, count);
+    }
+
+    static boolean apply(Game game, Player player, int move) {
+        State state = game.getState();
+        Topology topology = game.getBoard().getTopology();
+        int argument = argument(move);
+        Resource[] resources = Resource.values();
+
+        return switch (kind(move)) {
+            case ROLL_DICE -> state.rollDice(player);
+            case END_TURN -> state.endTurn(player);
+            case SETTLEMENT -> state.addBuilding(player, topology.getVertexPosition(argument), Building.of(player.color(), Building.Type.SETTLEMENT));
+            case CITY -> state.addBuilding(player, topology.getVertexPosition(argument), Building.of(player.color(), Building.Type.CITY));
+            case ROAD -> state.addRoad(player, topology.getEdgePosition(argument), Road.of(player.color()));
+            case ROBBER -> state.moveRobber(player, topology.getCoordinate(argument));
+            case STEAL -> state.stealResource(player, game.getPlayer(Color.values()[argument]));
+            case BUY_DEVELOPMENT_CARD -> state.buyDevelopmentCard(player);
+            case USE_DEVELOPMENT_CARD -> state.useDevelopmentCard(player, DevelopmentCard.values()[argument]);
+            case EXCHANGE -> state.exchange(player, resources[argument >>> 8], resources[argument & 0xFF]);
+            case MONOPOLY -> state.monopoly(player, resources[argument]);
+            case YEAR_OF_PLENTY -> state.yearOfPlenty(player, resources[argument >>> 8], resources[argument & 0xFF]);
+            case DISCARD -> state.discardResources(player, pickDiscard(player.inventory(), argument));
+            case ACCEPT_TRADE -> state.acceptTrade(player);
+            case DECLINE_TRADE -> state.declineTrade(player);
+            default -> throw new IllegalArgumentException("Unknown move " + move);
+        };
+    }
+
+    private static Map<Resource, Integer> pickDiscard(Inventory inventory, int amount) {
+        Map<Resource, Integer> discard = new EnumMap<>(Resource.class);
+        for (int i = 0; i < amount; i++) {
+            Resource mostPlentiful = null;
+            int mostLeft = 0;
+            for (Resource resource : RESOURCES) {
+                int left = inventory.getResource(resource) - discard.getOrDefault(resource, 0);
+                if (left > mostLeft) {
+                    mostPlentiful = resource;
+                    mostLeft = left;
+                }
+            }
+            discard.merge(mostPlentiful, 1, Integer::sum);
+        }
+
+        return discard;
+    }
+
+    private static int[] ensureCapacity(int[] moves, int count) {
+        return count < moves.length ? moves : Arrays.copyOf(moves, moves.length * 2);
+    }
+}
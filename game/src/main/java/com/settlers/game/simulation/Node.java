@@ -0,0 +1,99 @@
+package com.settlers.game.simulation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A node of a search tree that is shared by several threads without locks. Children are published with a
+ * compare-and-set, and statistics are kept in atomics. A visit is counted as soon as a thread selects the node,
+ * before its reward is known, which acts as a virtual loss that steers other threads to other nodes.
+ */
+final class Node {
+    private static final long SCALE = 1_000_000L;
+
+    final int move;
+    /** The colour ordinal of the player who chose the move, or -1 for the root and dice outcomes. */
+    final int actor;
+    private final AtomicLong visits = new AtomicLong();
+    private final AtomicLong value = new AtomicLong();
+    private final AtomicReference<Children> children = new AtomicReference<>();
+
+    Node(int move, int actor) {
+        this.move = move;
+        this.actor = actor;
+    }
+
+    Children getChildren() {
+        return children.get();
+    }
+
+    /**
+     * Publishes the children for the moves of the given player. If another thread got there first, its children win.
+     */
+    Children expand(int[] moves, int actor) {
+        Children expanded;
+        if (moves.length == 1 && Moves.kind(moves[0]) == Moves.ROLL_DICE) {
+            int[] rolls = new int[11];
+            for (int roll = 2; roll <= 12; roll++) {
+                rolls[roll - 2] = Moves.of(Moves.ROLL_DICE, roll);
+            }
+            expanded = new Children(rolls, -1, true);
+        } else {
+            expanded = new Children(moves, actor, false);
+        }
+
+        return children.compareAndSet(null, expanded) ? expanded : children.get();
+    }
+
+    long visits() {
+        return visits.get();
+    }
+
+    double meanValue() {
+        long visits = this.visits.get();
+        return visits == 0 ? 0 : (double) value.get() / SCALE / visits;
+    }
+
+    long addVirtualLoss() {
+        return visits.incrementAndGet();
+    }
+
+    void update(double reward) {
+        value.addAndGet(Math.round(reward * SCALE));
+    }
+
+    static final class Children {
+        private final int[] moves;
+        private final int actor;
+        private final boolean isChance;
+        private final AtomicReferenceArray<Node> nodes;
+
+        private Children(int[] moves, int actor, boolean isChance) {
+            this.moves = moves;
+            this.actor = actor;
+            this.isChance = isChance;
+            this.nodes = new AtomicReferenceArray<>(moves.length);
+        }
+
+        int size() {
+            return moves.length;
+        }
+
+        boolean isChance() {
+            return isChance;
+        }
+
+        Node peek(int index) {
+            return nodes.get(index);
+        }
+
+        Node get(int index) {
+            Node node = nodes.get(index);
+            if (node != null) return node;
+
+            nodes.compareAndSet(index, null, new Node(moves[index], actor));
+            return nodes.get(index);
+        }
+    }
+}
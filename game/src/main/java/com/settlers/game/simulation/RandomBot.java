@@ -0,0 +1,148 @@
+package com.settlers.game.simulation;
+
+import com.settlers.game.*;
+import com.settlers.game.states.LegalMoves;
+import com.settlers.game.states.Actions;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks uniformly among the legal moves, but always builds a city or settlement when it can so games finish.
+ * It never offers trades, and accepts or declines offered trades at random.
+ */
+public class RandomBot implements Bot {
+    private static final Resource[] RESOURCES = {
+            Resource.BRICK, Resource.LUMBER, Resource.WOOL, Resource.GRAIN, Resource.ORE
+    };
+
+    private final RandomGenerator rng;
+
+    private RandomBot(RandomGenerator rng) {
+        this.rng = Objects.requireNonNull(rng);
+    }
+
+    public static RandomBot of(RandomGenerator rng) {
+        return new RandomBot(rng);
+    }
+
+    public static Bot.Factory factory() {
+        return (color, seed) -> new RandomBot(new SplittableRandom(seed));
+    }
+
+    @Override
+    public boolean act(Game game, Player player, LegalMoves moves) {
+        return act(game.getState(), game, player, moves);
+    }
+
+    /**
+     * Acts through the given actions instead of the current state of the game, for example through a recorder.
+     */
+    public boolean act(Actions actions, Game game, Player player, LegalMoves moves) {
+        Topology topology = game.getBoard().getTopology();
+
+        if (moves.canRollDice()) return actions.rollDice(player);
+        if (moves.getDiscardAmount() > 0) return actions.discardResources(player, pickDiscard(player, moves.getDiscardAmount()));
+        if (moves.getRobberTileCount() > 0) {
+            int tile = moves.getRobberTile(rng.nextInt(moves.getRobberTileCount()));
+            return actions.moveRobber(player, topology.getCoordinate(tile));
+        }
+        if (moves.canRespondToTrade()) return rng.nextBoolean() ? actions.acceptTrade(player) : actions.declineTrade(player);
+        if (moves.canMonopoly()) return actions.monopoly(player, randomResource());
+        if (moves.canYearOfPlenty()) return actions.yearOfPlenty(player, randomResource(), randomResource());
+
+        Color target = pickStealTarget(game, moves);
+        if (target != null) return actions.stealResource(player, game.getPlayer(target));
+
+        if (moves.getCityCount() > 0) {
+            Position position = topology.getVertexPosition(moves.getCity(rng.nextInt(moves.getCityCount())));
+            return actions.addBuilding(player, position, Building.of(player.color(), Building.Type.CITY));
+        }
+        if (moves.getSettlementCount() > 0) {
+            Position position = topology.getVertexPosition(moves.getSettlement(rng.nextInt(moves.getSettlementCount())));
+            return actions.addBuilding(player, position, Building.of(player.color(), Building.Type.SETTLEMENT));
+        }
+
+        // roads, development cards and exchanges compete with ending the turn
+        int options = (moves.getRoadCount() > 0 ? 1 : 0) +
+                (moves.canBuyDevelopmentCard() ? 1 : 0) +
+                (canUseDevelopmentCard(moves) ? 1 : 0) +
+                (canExchange(moves) ? 1 : 0) +
+                (moves.canEndTurn() ? 1 : 0);
+        if (options == 0) return false;
+        int choice = rng.nextInt(options);
+
+        if (moves.getRoadCount() > 0 && choice-- == 0) {
+            Position position = topology.getEdgePosition(moves.getRoad(rng.nextInt(moves.getRoadCount())));
+            return actions.addRoad(player, position, Road.of(player.color()));
+        }
+        if (moves.canBuyDevelopmentCard() && choice-- == 0) return actions.buyDevelopmentCard(player);
+        if (canUseDevelopmentCard(moves) && choice-- == 0) {
+            DevelopmentCard developmentCard;
+            do developmentCard = DevelopmentCard.values()[rng.nextInt(DevelopmentCard.values().length)];
+            while (!moves.canUseDevelopmentCard(developmentCard));
+            return actions.useDevelopmentCard(player, developmentCard);
+        }
+        if (canExchange(moves) && choice-- == 0) {
+            Resource offer;
+            Resource receive;
+            do {
+                offer = randomResource();
+                receive = randomResource();
+            } while (!moves.canExchange(offer, receive));
+            return actions.exchange(player, offer, receive);
+        }
+
+        return actions.endTurn(player);
+    }
+
+    private Map<Resource, Integer> pickDiscard(Player player, int amount) {
+        Inventory inventory = player.inventory();
+        Map<Resource, Integer> discard = new EnumMap<>(Resource.class);
+        for (int i = 0; i < amount; i++) {
+            Resource resource;
+            do resource = randomResource();
+            while (inventory.getResource(resource) <= discard.getOrDefault(resource, 0));
+            discard.merge(resource, 1, Integer::sum);
+        }
+
+        return discard;
+    }
+
+    private Color pickStealTarget(Game game, LegalMoves moves) {
+        int count = 0;
+        Color target = null;
+        for (Player player : game.getPlayers()) {
+            if (!moves.canStealFrom(player.color())) continue;
+            // reservoir sampling keeps the choice uniform without collecting the targets
+            if (rng.nextInt(++count) == 0) target = player.color();
+        }
+
+        return target;
+    }
+
+    private Resource randomResource() {
+        return RESOURCES[rng.nextInt(RESOURCES.length)];
+    }
+
+    private static boolean canUseDevelopmentCard(LegalMoves moves) {
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            if (moves.canUseDevelopmentCard(developmentCard)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean canExchange(LegalMoves moves) {
+        for (Resource offer : RESOURCES) {
+            for (Resource receive : RESOURCES) {
+                if (moves.canExchange(offer, receive)) return true;
+            }
+        }
+
+        return false;
+    }
+}
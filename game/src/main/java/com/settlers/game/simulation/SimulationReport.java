@@ -0,0 +1,46 @@
+package com.settlers.game.simulation;
+
+import com.settlers.game.Color;
+
+import java.util.Map;
+
+/**
+ * Totals over a batch of simulated games. Phase times are keyed by the simple name of the state class
+ * and summed over all worker threads, so they add up to more than the wall-clock time on multiple cores.
+ */
+public record SimulationReport(int games,
+                               int finishedGames,
+                               long actions,
+                               long elapsedNanos,
+                               Map<String, Long> phaseNanos,
+                               Map<Color, Integer> wins) {
+    public SimulationReport {
+        assert phaseNanos != null;
+        assert wins != null;
+        phaseNanos = Map.copyOf(phaseNanos);
+        wins = Map.copyOf(wins);
+    }
+
+    public double gamesPerSecond() {
+        return games * 1e9 / elapsedNanos;
+    }
+
+    public double actionsPerSecond() {
+        return actions * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games: %d (%d finished) in %.2f s%n", games, finishedGames, elapsedNanos / 1e9));
+        report.append(String.format("games/sec: %.1f%n", gamesPerSecond()));
+        report.append(String.format("actions/sec: %.1f%n", actionsPerSecond()));
+        phaseNanos.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> report.append(String.format("  %-24s %10.1f ms%n", entry.getKey(), entry.getValue() / 1e6)));
+        report.append("wins: ").append(wins);
+
+        return report.toString();
+    }
+}
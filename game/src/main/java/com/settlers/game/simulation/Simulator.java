@@ -0,0 +1,210 @@
+package com.settlers.game.simulation;
+
+import com.settlers.game.Color;
+import com.settlers.game.Game;
+import com.settlers.game.Player;
+import com.settlers.game.states.LegalMoves;
+import com.settlers.game.states.State;
+import com.settlers.game.states.WinnerState;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Plays complete games headlessly with one bot per player, spreading independent games over a fork-join pool.
+ * Every game gets its own seed derived from the simulator seed, so a run is reproducible for a fixed seed
+ * regardless of how the games are scheduled.
+ */
+public class Simulator {
+    private static final int GAMES_PER_TASK = 8;
+
+    private final LongFunction<Game> games;
+    private final Bot.Factory bots;
+    private final int parallelism;
+    private final int maxActions;
+    private final long seed;
+
+    private Simulator(LongFunction<Game> games, Bot.Factory bots, int parallelism, int maxActions, long seed) {
+        this.games = Objects.requireNonNull(games);
+        this.bots = Objects.requireNonNull(bots);
+        this.parallelism = parallelism;
+        this.maxActions = maxActions;
+        this.seed = seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public SimulationReport run(int count) {
+        assert count >= 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long start = System.nanoTime();
+            Stats stats = pool.invoke(new SimulationTask(0, count));
+            long elapsed = System.nanoTime() - start;
+
+            Map<String, Long> phaseNanos = new HashMap<>();
+            stats.phaseNanos.forEach((phase, nanos) -> phaseNanos.put(phase.getSimpleName(), nanos));
+            Map<Color, Integer> wins = new EnumMap<>(Color.class);
+            for (Color color : Color.values()) {
+                if (stats.wins[color.ordinal()] > 0) wins.put(color, stats.wins[color.ordinal()]);
+            }
+
+            return new SimulationReport(count, stats.finishedGames, stats.actions, elapsed, phaseNanos, wins);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a single game until a player wins, nobody can act, or the action limit is reached.
+     *
+     * @return the winner, if the game finished
+     */
+    public Optional<Player> play(long gameSeed) {
+        return Optional.ofNullable(play(gameSeed, new Stats()));
+    }
+
+    private Player play(long gameSeed, Stats stats) {
+        Game game = games.apply(gameSeed);
+        Bot[] playerBots = new Bot[Color.values().length];
+        SplittableRandom seeds = new SplittableRandom(gameSeed);
+        for (Player player : game.getPlayers()) {
+            playerBots[player.color().ordinal()] = bots.create(player.color(), seeds.nextLong());
+        }
+
+        for (int actions = 0; actions < maxActions; actions++) {
+            State state = game.getState();
+            if (state instanceof WinnerState) {
+                stats.finishedGames++;
+                Player winner = game.getCurrentPlayer();
+                stats.wins[winner.color().ordinal()]++;
+                return winner;
+            }
+
+            Player actor = nextActor(game);
+            if (actor == null) return null;
+
+            LegalMoves moves = game.getLegalMoves(actor);
+            long start = System.nanoTime();
+            boolean acted = playerBots[actor.color().ordinal()].act(game, actor, moves);
+            stats.phaseNanos.merge(state.getClass(), System.nanoTime() - start, Long::sum);
+            if (!acted) return null;
+            stats.actions++;
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the player who has to act next. The current player acts first, others only act when they have to,
+     * such as when discarding or answering a trade.
+     *
+     * @return the player to act, or null if nobody can act
+     */
+    static Player nextActor(Game game) {
+        List<Player> players = game.getPlayers();
+        int current = players.indexOf(game.getCurrentPlayer());
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get((current + i) % players.size());
+            if (!game.getLegalMoves(player).isEmpty()) return player;
+        }
+
+        return null;
+    }
+
+    private static final class Stats {
+        private final Map<Class<?>, Long> phaseNanos = new HashMap<>();
+        private final int[] wins = new int[Color.values().length];
+        private int finishedGames;
+        private long actions;
+
+        private Stats merge(Stats other) {
+            other.phaseNanos.forEach((phase, nanos) -> phaseNanos.merge(phase, nanos, Long::sum));
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+            }
+            finishedGames += other.finishedGames;
+            actions += other.actions;
+            return this;
+        }
+    }
+
+    // tasks only run in this process and are never serialized
+    @SuppressWarnings("serial")
+    private final class SimulationTask extends RecursiveTask<Stats> {
+        private final int from;
+        private final int to;
+
+        private SimulationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Stats stats = new Stats();
+                for (int i = from; i < to; i++) {
+                    play(new SplittableRandom(seed + i).nextLong(), stats);
+                }
+                return stats;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, middle);
+            left.fork();
+            Stats right = new SimulationTask(middle, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    public static final class Builder {
+        private LongFunction<Game> games;
+        private Bot.Factory bots = RandomBot.factory();
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int maxActions = 100_000;
+        private long seed = 0;
+
+        private Builder() {}
+
+        public Simulator build() {
+            return new Simulator(games, bots, parallelism, maxActions, seed);
+        }
+
+        /**
+         * Creates a fresh game for a seed. Games must not share mutable state, since they are played concurrently.
+         */
+        public Builder setGames(LongFunction<Game> games) {
+            assert games != null;
+            this.games = games;
+            return this;
+        }
+
+        public Builder setBots(Bot.Factory bots) {
+            assert bots != null;
+            this.bots = bots;
+            return this;
+        }
+
+        public Builder setParallelism(int parallelism) {
+            assert parallelism > 0;
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder setMaxActions(int maxActions) {
+            assert maxActions > 0;
+            this.maxActions = maxActions;
+            return this;
+        }
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.settlers.game.states;
 
 import com.settlers.game.*;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Objects;
 
@@ -85,4 +86,13 @@ public abstract class AbstractState implements State {
     public boolean exchange(Player player, Resource offer, Resource receive) {
         return false;
     }
+
+    void addLegalMoves(Player player, LegalMoves moves) {
+    }
+
+    /**
+     * Writes the fields of this state for {@link StateCodec}. States with fields read them back in a constructor.
+     */
+    void write(ByteBuffer buffer) {
+    }
 }
@@ -2,7 +2,8 @@ package com.settlers.game.states;
 
 import com.settlers.game.*;
 
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
 import java.util.Map;
 
 public class ActionPhase extends AbstractState {
@@ -12,13 +13,54 @@ public class ActionPhase extends AbstractState {
 
     public ActionPhase(Game game) {
         super(game);
-        developmentCardsBought = new HashMap<>();
+        developmentCardsBought = new EnumMap<>(DevelopmentCard.class);
         for (DevelopmentCard value : DevelopmentCard.values()) {
             developmentCardsBought.put(value, 0);
         }
     }
 
 
+    private ActionPhase(Game game, ActionPhase other) {
+        super(game);
+        developmentCardsBought = new EnumMap<>(other.developmentCardsBought);
+        tradeInProgress = other.tradeInProgress;
+        hasUsedDevelopmentCard = other.hasUsedDevelopmentCard;
+    }
+
+    ActionPhase(Game game, ByteBuffer buffer) {
+        super(game);
+        developmentCardsBought = new EnumMap<>(DevelopmentCard.class);
+        byte flags = buffer.get();
+        hasUsedDevelopmentCard = (flags & 1) != 0;
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            developmentCardsBought.put(developmentCard, (int) buffer.get());
+        }
+        if ((flags & 2) != 0) {
+            Player offeringPlayer = StateCodec.readPlayer(game, buffer);
+            Player receivingPlayer = StateCodec.readPlayer(game, buffer);
+            tradeInProgress = new Trade(offeringPlayer, receivingPlayer, readResources(buffer), readResources(buffer));
+        }
+    }
+
+    @Override
+    public State copy(Game game) {
+        return new ActionPhase(game, this);
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        buffer.put((byte) ((hasUsedDevelopmentCard ? 1 : 0) | (tradeInProgress != null ? 2 : 0)));
+        for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+            buffer.put(developmentCardsBought.get(developmentCard).byteValue());
+        }
+        if (tradeInProgress != null) {
+            StateCodec.writePlayer(buffer, tradeInProgress.offeringPlayer());
+            StateCodec.writePlayer(buffer, tradeInProgress.receivingPlayer());
+            writeResources(buffer, tradeInProgress.offer());
+            writeResources(buffer, tradeInProgress.receive());
+        }
+    }
+
     @Override
     public boolean addBuilding(Player player, Position position, Building building) {
         if (tradeInProgress != null) return false;
@@ -33,10 +75,9 @@ public class ActionPhase extends AbstractState {
 
         if (!game.getBoard().addBuilding(position, building)) return false;
         game.getPlayer(player.color()).buyBuilding(building.type());
+        game.assignLongestRoad();
 
-        if (game.getWinner().isPresent()) {
-            game.setState(new WinnerState(game, game.getWinner().get()));
-        }
+        game.getWinner().ifPresent(winner -> game.setState(new WinnerState(game, winner)));
 
         return true;
     }
@@ -57,9 +98,7 @@ public class ActionPhase extends AbstractState {
         game.getPlayer(player.color()).buyRoad();
         game.assignLongestRoad();
 
-        if (game.getWinner().isPresent()) {
-            game.setState(new WinnerState(game, game.getWinner().get()));
-        }
+        game.getWinner().ifPresent(winner -> game.setState(new WinnerState(game, winner)));
 
         return true;
     }
@@ -91,15 +130,16 @@ public class ActionPhase extends AbstractState {
 
         switch (developmentCard) {
             case MONOPOLY -> game.setState(new Monopoly(game, this));
-            case ROAD_BUILDING -> game.setState(new RoadBuilding(game, this));
+            case ROAD_BUILDING -> {
+                // with no road that can be placed there is nothing to build, stay in this state
+                if (RoadBuilding.canBuildRoad(game, game.getPlayer(player.color()))) game.setState(new RoadBuilding(game, this));
+            }
             case YEAR_OF_PLENTY -> game.setState(new YearOfPlenty(game, this));
             case KNIGHT -> game.setState(new MoveRobber(game, this));
         }
         game.assignLargestArmy();
 
-        if (game.getWinner().isPresent()) {
-            game.setState(new WinnerState(game, game.getWinner().get()));
-        }
+        game.getWinner().ifPresent(winner -> game.setState(new WinnerState(game, winner)));
 
         return true;
     }
@@ -111,17 +151,7 @@ public class ActionPhase extends AbstractState {
         if (!game.getCurrentPlayer().equals(player)) return false;
         if (offer == Resource.NOTHING || receive == Resource.NOTHING) return false;
 
-        int amountNeeded = 4;
-        if (game.getBoard().hasHarbor(player, Harbor.ANY)) amountNeeded = 3;
-        Harbor resourceHarbor = switch (offer) {
-            case BRICK ->  Harbor.BRICK;
-            case LUMBER ->  Harbor.LUMBER;
-            case ORE ->  Harbor.ORE;
-            case GRAIN ->  Harbor.GRAIN;
-            case WOOL ->  Harbor.WOOL;
-            default ->  null; // dummy case to make compiler happy
-        };
-        if (game.getBoard().hasHarbor(player, resourceHarbor)) amountNeeded = 2;
+        int amountNeeded = game.getBoard().getExchangeRatio(player.color(), offer);
 
         if (!(game.getPlayer(player.color()).inventory().getResource(offer) >= amountNeeded)) return false;
 
@@ -144,14 +174,11 @@ public class ActionPhase extends AbstractState {
         if (!game.getPlayers().contains(trade.receivingPlayer())) return false;
 
         Inventory offeringPlayerInventory = game.getPlayer(trade.offeringPlayer().color()).inventory();
-        for (Map.Entry<Resource, Integer> entry : trade.offer().entrySet()) {
-            if (offeringPlayerInventory.getResource(entry.getKey()) < entry.getValue()) return false;
-        }
         Inventory receivingPlayerInventory = game.getPlayer(trade.receivingPlayer().color()).inventory();
-        for (Map.Entry<Resource, Integer> entry : trade.receive().entrySet()) {
-            if (receivingPlayerInventory.getResource(entry.getKey()) < entry.getValue()) return false;
-        }
-        tradeInProgress = trade;
+        if (!trade.isFeasible(offeringPlayerInventory, receivingPlayerInventory)) return false;
+
+        setTradeInProgress(trade);
+        game.markChanged();
 
         return true;
     }
@@ -163,16 +190,14 @@ public class ActionPhase extends AbstractState {
 
         Inventory offeringPlayerInventory = game.getPlayer(tradeInProgress.offeringPlayer().color()).inventory();
         Inventory receivingPlayerInventory = game.getPlayer(tradeInProgress.receivingPlayer().color()).inventory();
-        for (Map.Entry<Resource, Integer> offerEntry : tradeInProgress.offer().entrySet()) {
-            offeringPlayerInventory.putResource(offerEntry.getKey(), offerEntry.getValue() * -1);
-            receivingPlayerInventory.putResource(offerEntry.getKey(), offerEntry.getValue());
-        }
-        for (Map.Entry<Resource, Integer> receiveEntry : tradeInProgress.receive().entrySet()) {
-            receivingPlayerInventory.putResource(receiveEntry.getKey(), receiveEntry.getValue() * -1);
-            offeringPlayerInventory.putResource(receiveEntry.getKey(), receiveEntry.getValue());
-        }
+        if (!tradeInProgress.isFeasible(offeringPlayerInventory, receivingPlayerInventory)) return false;
+
+        offeringPlayerInventory.pay(tradeInProgress.offer());
+        receivingPlayerInventory.pay(tradeInProgress.receive());
+        offeringPlayerInventory.collect(tradeInProgress.receive());
+        receivingPlayerInventory.collect(tradeInProgress.offer());
 
-        tradeInProgress = null;
+        setTradeInProgress(null);
 
         return true;
     }
@@ -182,11 +207,44 @@ public class ActionPhase extends AbstractState {
         if (tradeInProgress == null) return false;
         if (!player.equals(tradeInProgress.receivingPlayer())) return false;
 
-        tradeInProgress = null;
+        setTradeInProgress(null);
+        game.markChanged();
 
         return true;
     }
 
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (tradeInProgress != null) {
+            if (player.equals(tradeInProgress.receivingPlayer())) moves.setCanRespondToTrade();
+            return;
+        }
+
+        if (!game.getCurrentPlayer().equals(player)) return;
+
+        Board board = game.getBoard();
+        Inventory inventory = player.inventory();
+        if (player.canAffordBuilding(Building.Type.SETTLEMENT) && inventory.hasBuildings(Building.Type.SETTLEMENT)) {
+            moves.addSettlements(board.getBitboard(), false);
+        }
+        if (player.canAffordBuilding(Building.Type.CITY) && inventory.hasBuildings(Building.Type.CITY)) {
+            moves.addCities(board.getBitboard());
+        }
+        if (player.canAffordRoad() && inventory.hasRoads()) moves.addRoads(board.getBitboard());
+        if (player.canAffordDevelopmentCard() && game.hasDevelopmentCards()) moves.setCanBuyDevelopmentCard();
+        moves.addExchanges(board);
+        if (!hasUsedDevelopmentCard) {
+            for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+                if (developmentCard == DevelopmentCard.VICTORY_POINT) continue;
+                if (inventory.getDevelopmentCard(developmentCard) < 1) continue;
+                if (developmentCardsBought.get(developmentCard) == inventory.getDevelopmentCard(developmentCard)) continue;
+                moves.addDevelopmentCard(developmentCard);
+            }
+        }
+        moves.setCanOfferTrade();
+        moves.setCanEndTurn();
+    }
+
     @Override
     public boolean buyDevelopmentCard(Player player) {
         if (!game.getCurrentPlayer().equals(player)) return false;
@@ -196,8 +254,34 @@ public class ActionPhase extends AbstractState {
         game.getPlayer(player.color()).buyDevelopmentCard();
         DevelopmentCard developmentCard = game.takeDevelopmentCard();
         game.getPlayer(player.color()).inventory().addDevelopmentCard(developmentCard);
+        if (game.isRecording()) game.record(() -> developmentCardsBought.merge(developmentCard, -1, Integer::sum));
         developmentCardsBought.merge(developmentCard, 1, Integer::sum);
 
         return true;
     }
+
+    private static void writeResources(ByteBuffer buffer, long resources) {
+        for (Resource resource : Resource.values()) {
+            if (resource == Resource.NOTHING) continue;
+            buffer.putShort((short) Inventory.amount(resources, resource));
+        }
+    }
+
+    private static long readResources(ByteBuffer buffer) {
+        long resources = 0;
+        for (Resource resource : Resource.values()) {
+            if (resource == Resource.NOTHING) continue;
+            resources += Inventory.cost(resource, buffer.getShort());
+        }
+
+        return resources;
+    }
+
+    private void setTradeInProgress(Trade trade) {
+        if (game.isRecording()) {
+            Trade previousTrade = tradeInProgress;
+            game.record(() -> tradeInProgress = previousTrade);
+        }
+        tradeInProgress = trade;
+    }
 }
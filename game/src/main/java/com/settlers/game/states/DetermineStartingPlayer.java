@@ -3,6 +3,7 @@ package com.settlers.game.states;
 import com.settlers.game.Game;
 import com.settlers.game.Player;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class DetermineStartingPlayer extends AbstractState {
@@ -14,10 +15,53 @@ public class DetermineStartingPlayer extends AbstractState {
         playersInRound = game.getPlayers();
     }
 
+    private DetermineStartingPlayer(Game game, DetermineStartingPlayer other) {
+        super(game);
+        playerRolls.putAll(other.playerRolls);
+        playersInRound = other.playersInRound;
+    }
+
+    DetermineStartingPlayer(Game game, ByteBuffer buffer) {
+        super(game);
+        playersInRound = StateCodec.readPlayers(game, buffer);
+        for (Player player : StateCodec.readPlayers(game, buffer)) {
+            playerRolls.put(player, (int) buffer.get());
+        }
+    }
+
+    @Override
+    public State copy(Game game) {
+        return new DetermineStartingPlayer(game, this);
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        StateCodec.writePlayers(buffer, playersInRound);
+        StateCodec.writePlayers(buffer, playerRolls.keySet());
+        for (Player player : game.getPlayers()) {
+            Integer roll = playerRolls.get(player);
+            if (roll != null) buffer.put(roll.byteValue());
+        }
+    }
+
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (game.getCurrentPlayer().equals(player)) moves.setCanRollDice();
+    }
+
     @Override
     public boolean rollDice(Player player) {
         if (!game.getCurrentPlayer().equals(player)) return false;
-        int roll = game.getDice().roll();
+        if (game.isRecording()) {
+            Map<Player, Integer> previousRolls = new HashMap<>(playerRolls);
+            List<Player> previousPlayersInRound = playersInRound;
+            game.record(() -> {
+                playerRolls.clear();
+                playerRolls.putAll(previousRolls);
+                playersInRound = previousPlayersInRound;
+            });
+        }
+        int roll = game.rollDice();
         playerRolls.put(game.getCurrentPlayer(), roll);
 
         if (playerRolls.size() != playersInRound.size()) {
@@ -5,7 +5,9 @@ import com.settlers.game.Inventory;
 import com.settlers.game.Player;
 import com.settlers.game.Resource;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class DiscardResources extends AbstractState {
@@ -32,6 +34,43 @@ public class DiscardResources extends AbstractState {
         }
     }
 
+    private DiscardResources(Game game, DiscardResources other) {
+        super(game);
+        this.discardAmounts = other.discardAmounts;
+        this.hasDiscarded = new HashMap<>(other.hasDiscarded);
+    }
+
+    DiscardResources(Game game, ByteBuffer buffer) {
+        super(game);
+        this.discardAmounts = new HashMap<>();
+        this.hasDiscarded = new HashMap<>();
+        List<Player> discarding = StateCodec.readPlayers(game, buffer);
+        List<Player> discarded = StateCodec.readPlayers(game, buffer);
+        for (Player player : discarding) {
+            discardAmounts.put(player, StateCodec.readUnsignedShort(buffer));
+            hasDiscarded.put(player, discarded.contains(player));
+        }
+    }
+
+    @Override
+    public State copy(Game game) {
+        return new DiscardResources(game, this);
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        StateCodec.writePlayers(buffer, discardAmounts.keySet());
+        int discarded = 0;
+        for (Map.Entry<Player, Boolean> entry : hasDiscarded.entrySet()) {
+            if (entry.getValue()) discarded |= 1 << entry.getKey().color().ordinal();
+        }
+        buffer.put((byte) discarded);
+        for (Player player : game.getPlayers()) {
+            Integer amount = discardAmounts.get(player);
+            if (amount != null) StateCodec.writeUnsignedShort(buffer, amount);
+        }
+    }
+
     @Override
     public boolean discardResources(Player player, Map<Resource, Integer> resources) {
         if (discardAmounts.get(player) == null) return false;
@@ -56,6 +95,7 @@ public class DiscardResources extends AbstractState {
             playerInventory.putResource(entry.getKey(), entry.getValue() * -1);
         }
 
+        if (game.isRecording()) game.record(() -> hasDiscarded.put(player, false));
         hasDiscarded.put(player, true);
         if (hasDiscarded.values().stream().allMatch(x -> x)) {
             game.setState(new MoveRobber(game));
@@ -63,4 +103,12 @@ public class DiscardResources extends AbstractState {
 
         return true;
     }
+
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (discardAmounts.get(player) == null) return;
+        if (hasDiscarded.get(player)) return;
+
+        moves.setDiscardAmount(discardAmounts.get(player));
+    }
 }
@@ -0,0 +1,269 @@
+package com.settlers.game.states;
+
+import com.settlers.game.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class LegalMoves {
+    private final long version;
+    private final Player player;
+    private final Topology topology;
+    private final int[] settlements;
+    private final int[] cities;
+    private final int[] roads;
+    private final int[] robberTiles;
+    private int settlementCount;
+    private int cityCount;
+    private int roadCount;
+    private int robberTileCount;
+    private int stealTargets;
+    private int exchanges;
+    private int developmentCards;
+    private int discardAmount;
+    private boolean canRollDice;
+    private boolean canEndTurn;
+    private boolean canBuyDevelopmentCard;
+    private boolean canOfferTrade;
+    private boolean canRespondToTrade;
+    private boolean canMonopoly;
+    private boolean canYearOfPlenty;
+
+    private LegalMoves(long version, Player player, Topology topology) {
+        this.version = version;
+        this.player = player;
+        this.topology = topology;
+        this.settlements = new int[topology.vertexCount()];
+        this.cities = new int[topology.vertexCount()];
+        this.roads = new int[topology.edgeCount()];
+        this.robberTiles = new int[topology.tileCount()];
+    }
+
+    public static LegalMoves of(Game game, Player player) {
+        assert game != null;
+        assert player != null;
+        LegalMoves moves = new LegalMoves(game.getVersion(), player, game.getBoard().getTopology());
+        if (game.getState() instanceof AbstractState state) {
+            state.addLegalMoves(game.getPlayer(player.color()), moves);
+        }
+
+        return moves;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public boolean isEmpty() {
+        return settlementCount == 0 &&
+                cityCount == 0 &&
+                roadCount == 0 &&
+                robberTileCount == 0 &&
+                stealTargets == 0 &&
+                exchanges == 0 &&
+                developmentCards == 0 &&
+                discardAmount == 0 &&
+                !canRollDice &&
+                !canEndTurn &&
+                !canBuyDevelopmentCard &&
+                !canOfferTrade &&
+                !canRespondToTrade &&
+                !canMonopoly &&
+                !canYearOfPlenty;
+    }
+
+    public int getSettlementCount() {
+        return settlementCount;
+    }
+
+    public int getSettlement(int index) {
+        assert index < settlementCount;
+        return settlements[index];
+    }
+
+    public int getCityCount() {
+        return cityCount;
+    }
+
+    public int getCity(int index) {
+        assert index < cityCount;
+        return cities[index];
+    }
+
+    public int getRoadCount() {
+        return roadCount;
+    }
+
+    public int getRoad(int index) {
+        assert index < roadCount;
+        return roads[index];
+    }
+
+    public int getRobberTileCount() {
+        return robberTileCount;
+    }
+
+    public int getRobberTile(int index) {
+        assert index < robberTileCount;
+        return robberTiles[index];
+    }
+
+    public List<Position> getSettlementPositions() {
+        return toPositions(settlements, settlementCount, true);
+    }
+
+    public List<Position> getCityPositions() {
+        return toPositions(cities, cityCount, true);
+    }
+
+    public List<Position> getRoadPositions() {
+        return toPositions(roads, roadCount, false);
+    }
+
+    public boolean canStealFrom(Color color) {
+        return (stealTargets & (1 << color.ordinal())) != 0;
+    }
+
+    public boolean canExchange(Resource offer, Resource receive) {
+        if (offer == Resource.NOTHING || receive == Resource.NOTHING) return false;
+        return (exchanges & exchangeBit(offer, receive)) != 0;
+    }
+
+    public boolean canUseDevelopmentCard(DevelopmentCard developmentCard) {
+        return (developmentCards & (1 << developmentCard.ordinal())) != 0;
+    }
+
+    public int getDiscardAmount() {
+        return discardAmount;
+    }
+
+    public boolean canRollDice() {
+        return canRollDice;
+    }
+
+    public boolean canEndTurn() {
+        return canEndTurn;
+    }
+
+    public boolean canBuyDevelopmentCard() {
+        return canBuyDevelopmentCard;
+    }
+
+    public boolean canOfferTrade() {
+        return canOfferTrade;
+    }
+
+    public boolean canRespondToTrade() {
+        return canRespondToTrade;
+    }
+
+    public boolean canMonopoly() {
+        return canMonopoly;
+    }
+
+    public boolean canYearOfPlenty() {
+        return canYearOfPlenty;
+    }
+
+    void addSettlements(Bitboard bitboard, boolean isSetupPhase) {
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            if (bitboard.canPlaceSettlement(vertex, player.color(), isSetupPhase)) settlements[settlementCount++] = vertex;
+        }
+    }
+
+    void addCities(Bitboard bitboard) {
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            if (bitboard.canPlaceCity(vertex, player.color(), false)) cities[cityCount++] = vertex;
+        }
+    }
+
+    void addRoads(Bitboard bitboard) {
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            if (bitboard.canPlaceRoad(edge, player.color())) roads[roadCount++] = edge;
+        }
+    }
+
+    void addRoadsAt(Bitboard bitboard, int vertex) {
+        Topology.Adjacency vertexEdges = topology.vertexEdges();
+        for (int i = vertexEdges.start(vertex); i < vertexEdges.end(vertex); i++) {
+            int edge = vertexEdges.get(i);
+            if (bitboard.canPlaceRoad(edge, player.color())) roads[roadCount++] = edge;
+        }
+    }
+
+    void addRobberTiles(Board board) {
+        for (int tile = 0; tile < topology.tileCount(); tile++) {
+            if (topology.getCoordinate(tile).equals(board.getRobber())) continue;
+            robberTiles[robberTileCount++] = tile;
+        }
+    }
+
+    void addStealTarget(Color color) {
+        stealTargets |= 1 << color.ordinal();
+    }
+
+    void addExchanges(Board board) {
+        Inventory inventory = player.inventory();
+        for (Resource offer : Resource.values()) {
+            if (offer == Resource.NOTHING) continue;
+            if (inventory.getResource(offer) < board.getExchangeRatio(player.color(), offer)) continue;
+            for (Resource receive : Resource.values()) {
+                if (receive == Resource.NOTHING || receive == offer) continue;
+                exchanges |= exchangeBit(offer, receive);
+            }
+        }
+    }
+
+    void addDevelopmentCard(DevelopmentCard developmentCard) {
+        developmentCards |= 1 << developmentCard.ordinal();
+    }
+
+    void setDiscardAmount(int discardAmount) {
+        this.discardAmount = discardAmount;
+    }
+
+    void setCanRollDice() {
+        canRollDice = true;
+    }
+
+    void setCanEndTurn() {
+        canEndTurn = true;
+    }
+
+    void setCanBuyDevelopmentCard() {
+        canBuyDevelopmentCard = true;
+    }
+
+    void setCanOfferTrade() {
+        canOfferTrade = true;
+    }
+
+    void setCanRespondToTrade() {
+        canRespondToTrade = true;
+    }
+
+    void setCanMonopoly() {
+        canMonopoly = true;
+    }
+
+    void setCanYearOfPlenty() {
+        canYearOfPlenty = true;
+    }
+
+    private List<Position> toPositions(int[] ids, int count, boolean isVertex) {
+        List<Position> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(isVertex ? topology.getVertexPosition(ids[i]) : topology.getEdgePosition(ids[i]));
+        }
+
+        return positions;
+    }
+
+    private static int exchangeBit(Resource offer, Resource receive) {
+        return 1 << (offer.ordinal() * 5 + receive.ordinal());
+    }
+}
@@ -4,6 +4,7 @@ import com.settlers.game.Game;
 import com.settlers.game.Player;
 import com.settlers.game.Resource;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 public class Monopoly extends AbstractState {
@@ -14,6 +15,16 @@ public class Monopoly extends AbstractState {
         this.previousState = Objects.requireNonNull(previousState);
     }
 
+    @Override
+    public State copy(Game game) {
+        return new Monopoly(game, previousState.copy(game));
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        StateCodec.write(previousState, buffer);
+    }
+
     @Override
     public boolean monopoly(Player player, Resource resource) {
         if (!game.getCurrentPlayer().equals(player)) return false;
@@ -30,4 +41,9 @@ public class Monopoly extends AbstractState {
 
         return true;
     }
+
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (game.getCurrentPlayer().equals(player)) moves.setCanMonopoly();
+    }
 }
@@ -2,12 +2,12 @@ package com.settlers.game.states;
 
 import com.settlers.game.*;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class MoveRobber extends AbstractState {
     private boolean robberMoved = false;
     private final Set<Player> playersEligibleToStealFrom = new HashSet<>();
-    private final Random rng = new Random();
     private State previousState = null;
 
 
@@ -20,6 +20,33 @@ public class MoveRobber extends AbstractState {
         this.previousState = Objects.requireNonNull(previousState);
     }
 
+    private MoveRobber(Game game, MoveRobber other) {
+        super(game);
+        this.robberMoved = other.robberMoved;
+        this.playersEligibleToStealFrom.addAll(other.playersEligibleToStealFrom);
+        this.previousState = other.previousState == null ? null : other.previousState.copy(game);
+    }
+
+    MoveRobber(Game game, ByteBuffer buffer) {
+        super(game);
+        byte flags = buffer.get();
+        this.robberMoved = (flags & 1) != 0;
+        this.playersEligibleToStealFrom.addAll(StateCodec.readPlayers(game, buffer));
+        if ((flags & 2) != 0) this.previousState = StateCodec.read(game, buffer);
+    }
+
+    @Override
+    public State copy(Game game) {
+        return new MoveRobber(game, this);
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        buffer.put((byte) ((robberMoved ? 1 : 0) | (previousState != null ? 2 : 0)));
+        StateCodec.writePlayers(buffer, playersEligibleToStealFrom);
+        if (previousState != null) StateCodec.write(previousState, buffer);
+    }
+
     @Override
     public boolean moveRobber(Player player, Coordinate coordinate) {
         if (robberMoved) return false;
@@ -27,6 +54,12 @@ public class MoveRobber extends AbstractState {
         if (!game.getCurrentPlayer().equals(player)) return false;
 
         if (!game.getBoard().setRobber(coordinate)) return false;
+        if (game.isRecording()) {
+            game.record(() -> {
+                robberMoved = false;
+                playersEligibleToStealFrom.clear();
+            });
+        }
 
         for (Direction direction : Direction.values()) {
             Optional<Building> buildingAdjacentToRobber = game.getBoard().getBuilding(Position.of(coordinate, direction));
@@ -60,7 +93,7 @@ public class MoveRobber extends AbstractState {
             return true;
         }
 
-        Resource stolenResource = game.getPlayer(playerToStealFrom.color()).inventory().stealResource();
+        Resource stolenResource = game.stealResource(game.getPlayer(playerToStealFrom.color()).inventory());
         game.getPlayer(player.color()).inventory().putResource(stolenResource, 1);
 
         if (previousState != null) {
@@ -71,4 +104,17 @@ public class MoveRobber extends AbstractState {
 
         return true;
     }
+
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (!game.getCurrentPlayer().equals(player)) return;
+
+        if (!robberMoved) {
+            moves.addRobberTiles(game.getBoard());
+            return;
+        }
+        for (Player playerToStealFrom : playersEligibleToStealFrom) {
+            moves.addStealTarget(playerToStealFrom.color());
+        }
+    }
 }
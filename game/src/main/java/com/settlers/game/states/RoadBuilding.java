@@ -1,10 +1,12 @@
 package com.settlers.game.states;
 
+import com.settlers.game.Bitboard;
 import com.settlers.game.Game;
 import com.settlers.game.Player;
 import com.settlers.game.Position;
 import com.settlers.game.Road;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 public class RoadBuilding extends AbstractState {
@@ -14,11 +16,34 @@ public class RoadBuilding extends AbstractState {
     public RoadBuilding(Game game, State previousState) {
         super(game);
         this.previousState = Objects.requireNonNull(previousState);
-        if (!game.getCurrentPlayer().inventory().hasRoads()) {
+        if (!canBuildRoad(game, game.getCurrentPlayer())) {
             game.setState(previousState);
         }
     }
 
+    private RoadBuilding(Game game, RoadBuilding other) {
+        super(game);
+        this.previousState = other.previousState.copy(game);
+        this.firstRoadAdded = other.firstRoadAdded;
+    }
+
+    RoadBuilding(Game game, ByteBuffer buffer) {
+        super(game);
+        this.firstRoadAdded = buffer.get() != 0;
+        this.previousState = StateCodec.read(game, buffer);
+    }
+
+    @Override
+    public State copy(Game game) {
+        return new RoadBuilding(game, this);
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        buffer.put((byte) (firstRoadAdded ? 1 : 0));
+        StateCodec.write(previousState, buffer);
+    }
+
     @Override
     public boolean addRoad(Player player, Position position, Road road) {
         if (!game.getCurrentPlayer().equals(player)) return false;
@@ -29,19 +54,37 @@ public class RoadBuilding extends AbstractState {
         game.getPlayer(player.color()).inventory().useRoad();
         game.assignLongestRoad();
 
-        if (game.getWinner().isPresent()) {
-            game.setState(new WinnerState(game, game.getWinner().get()));
-        }
+        game.getWinner().ifPresent(winner -> game.setState(new WinnerState(game, winner)));
 
         if (firstRoadAdded) {
             game.setState(previousState);
             return true;
         } else {
-            if (!game.getPlayer(player.color()).inventory().hasRoads()) {
+            if (!canBuildRoad(game, game.getPlayer(player.color()))) {
                 game.setState(previousState);
             }
+            if (game.isRecording()) game.record(() -> firstRoadAdded = false);
             firstRoadAdded = true;
             return true;
         }
     }
+
+    static boolean canBuildRoad(Game game, Player player) {
+        if (!player.inventory().hasRoads()) return false;
+
+        Bitboard bitboard = game.getBoard().getBitboard();
+        for (int edge = 0; edge < game.getBoard().getTopology().edgeCount(); edge++) {
+            if (bitboard.canPlaceRoad(edge, player.color())) return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (!game.getCurrentPlayer().equals(player)) return;
+        if (!player.inventory().hasRoads()) return;
+
+        moves.addRoads(game.getBoard().getBitboard());
+    }
 }
@@ -1,45 +1,40 @@
 package com.settlers.game.states;
 
-import com.settlers.game.*;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import com.settlers.game.Game;
+import com.settlers.game.Player;
 
 public class RollForResources extends AbstractState {
     public RollForResources(Game game) {
         super(game);
     }
 
+    @Override
+    public State copy(Game game) {
+        return new RollForResources(game);
+    }
+
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (game.getCurrentPlayer().equals(player)) moves.setCanRollDice();
+    }
+
     @Override
     public boolean rollDice(Player player) {
         if (!game.getCurrentPlayer().equals(player)) return false;
 
-        int roll = game.getDice().roll();
+        int roll = game.rollDice();
 
         if (roll == 7) {
-            game.setState(new DiscardResources(game));
+            State discardResources = new DiscardResources(game);
+            // nobody has to discard, the constructor already moved on to the robber
+            if (game.getState() == this) game.setState(discardResources);
             return true;
         }
 
-        Collection<Coordinate> coordinatesForRoll = new ArrayList<>(game.getBoard().getCoordinates(roll));
-        coordinatesForRoll.removeIf(coordinate -> coordinate.equals(game.getBoard().getRobber()));
-        for (Player p : game.getPlayers()) {
-            Map<Resource, Integer> newResources = new HashMap<>();
-            for (Coordinate coordinate : coordinatesForRoll) {
-                Resource resource = game.getBoard().getTile(coordinate).orElseThrow().resource();
-                Collection<Building> buildings = game.getBoard().getBuildings(coordinate, p.color());
-                int amount = buildings.stream()
-                        .map(Building::type)
-                        .map(Building.Type::resources)
-                        .reduce(0, Integer::sum);
-                newResources.put(resource, amount);
-            }
-            for (Map.Entry<Resource, Integer> entry : newResources.entrySet()) {
-                p.inventory().putResource(entry.getKey(), entry.getValue());
-            }
-        }
+        game.getBoard().produce(roll, (color, resource, amount) -> {
+            if (!game.hasPlayer(color)) return;
+            game.getPlayer(color).inventory().putResource(resource, amount);
+        });
         game.setState(new ActionPhase(game));
 
         return true;
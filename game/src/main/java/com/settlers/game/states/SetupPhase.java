@@ -2,6 +2,7 @@ package com.settlers.game.states;
 
 import com.settlers.game.*;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class SetupPhase extends AbstractState {
@@ -18,6 +19,40 @@ public class SetupPhase extends AbstractState {
         this.isFirstRound = isFirstRound;
     }
 
+    private SetupPhase(Game game, SetupPhase other) {
+        super(game);
+        this.settlementPositions = new HashMap<>(other.settlementPositions);
+        this.isFirstRound = other.isFirstRound;
+    }
+
+    SetupPhase(Game game, ByteBuffer buffer) {
+        this(game, buffer.get() != 0);
+        Topology topology = game.getBoard().getTopology();
+        for (Player player : StateCodec.readPlayers(game, buffer)) {
+            settlementPositions.put(player, topology.getVertexPosition(StateCodec.readUnsignedShort(buffer)));
+        }
+    }
+
+    @Override
+    public State copy(Game game) {
+        return new SetupPhase(game, this);
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        buffer.put((byte) (isFirstRound ? 1 : 0));
+        int mask = 0;
+        for (Player player : game.getPlayers()) {
+            if (settlementPositions.get(player) != null) mask |= 1 << player.color().ordinal();
+        }
+        buffer.put((byte) mask);
+        Topology topology = game.getBoard().getTopology();
+        for (Player player : game.getPlayers()) {
+            Position position = settlementPositions.get(player);
+            if (position != null) StateCodec.writeUnsignedShort(buffer, topology.getVertex(position));
+        }
+    }
+
     @Override
     public boolean addBuilding(Player player, Position position, Building building) {
         if (!game.getCurrentPlayer().equals(player)) return false;
@@ -31,7 +66,9 @@ public class SetupPhase extends AbstractState {
         if (!game.getBoard().addBuilding(position, building, true)) return false;
         game.getPlayer(player.color()).inventory().useBuilding(building.type());
 
-        settlementPositions.put(game.getCurrentPlayer(), position);
+        Player currentPlayer = game.getCurrentPlayer();
+        if (game.isRecording()) game.record(() -> settlementPositions.put(currentPlayer, null));
+        settlementPositions.put(currentPlayer, position);
 
         return true;
     }
@@ -45,7 +82,10 @@ public class SetupPhase extends AbstractState {
         if (settlementPositions.get(game.getCurrentPlayer()) == null) return false;
 
         Position settlementPosition = settlementPositions.get(game.getCurrentPlayer());
-        if (!settlementPosition.getAdjacentEdgesForVertex().contains(position)) return false;
+        Topology topology = game.getBoard().getTopology();
+        int edge = topology.getEdge(position);
+        if (edge < 0) return false;
+        if (!topology.vertexEdges().contains(topology.getVertex(settlementPosition), edge)) return false;
 
         if (!game.getBoard().addRoad(position, road)) return false;
         game.getPlayer(player.color()).inventory().useRoad();
@@ -70,20 +110,29 @@ public class SetupPhase extends AbstractState {
         return true;
     }
 
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (!game.getCurrentPlayer().equals(player)) return;
+
+        Position settlementPosition = settlementPositions.get(player);
+        if (settlementPosition == null) {
+            moves.addSettlements(game.getBoard().getBitboard(), true);
+        } else {
+            moves.addRoadsAt(game.getBoard().getBitboard(), game.getBoard().getTopology().getVertex(settlementPosition));
+        }
+    }
+
     private void givePlayersStartingResources() {
+        Topology topology = game.getBoard().getTopology();
+        Topology.Adjacency vertexTiles = topology.vertexTiles();
         for (Map.Entry<Player, Position> entry : settlementPositions.entrySet()) {
-            Collection<Resource> startingResources = entry.getValue()
-                    .getAdjacentCoordinatesForVertex()
-                    .stream()
-                    .map(coordinate -> game.getBoard().getTile(coordinate))
-                    .flatMap(Optional::stream)
-                    .map(Tile::resource)
-                    .filter(resource -> resource != Resource.NOTHING)
-                    .toList();
-            for (Resource startingResource : startingResources) {
+            int vertex = topology.getVertex(entry.getValue());
+            for (int i = vertexTiles.start(vertex); i < vertexTiles.end(vertex); i++) {
+                Resource resource = game.getBoard().getTerrain().getResource(vertexTiles.get(i));
+                if (resource == Resource.NOTHING) continue;
                 game.getPlayer(entry.getKey().color())
                         .inventory()
-                        .putResource(startingResource, 1);
+                        .putResource(resource, 1);
             }
         }
     }
@@ -0,0 +1,118 @@
+package com.settlers.game.states;
+
+import com.settlers.game.Color;
+import com.settlers.game.Game;
+import com.settlers.game.Player;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binary encoding of the active state, including the fields it keeps between actions. Each state writes a tag
+ * followed by its own fields; states that return to a previous state write that state after their own fields.
+ */
+public final class StateCodec {
+    private static final byte DETERMINE_STARTING_PLAYER = 0;
+    private static final byte SETUP_PHASE = 1;
+    private static final byte ROLL_FOR_RESOURCES = 2;
+    private static final byte ACTION_PHASE = 3;
+    private static final byte DISCARD_RESOURCES = 4;
+    private static final byte MOVE_ROBBER = 5;
+    private static final byte ROAD_BUILDING = 6;
+    private static final byte MONOPOLY = 7;
+    private static final byte YEAR_OF_PLENTY = 8;
+    private static final byte WINNER_STATE = 9;
+
+    private StateCodec() {}
+
+    public static void write(State state, ByteBuffer buffer) {
+        assert state != null;
+        assert buffer != null;
+        if (!(state instanceof AbstractState abstractState)) {
+            throw new IllegalArgumentException("Cannot encode " + state.getClass().getName());
+        }
+
+        buffer.put(tag(abstractState));
+        abstractState.write(buffer);
+    }
+
+    public static State read(Game game, ByteBuffer buffer) {
+        assert game != null;
+        assert buffer != null;
+        byte tag = buffer.get();
+        return switch (tag) {
+            case DETERMINE_STARTING_PLAYER -> new DetermineStartingPlayer(game, buffer);
+            case SETUP_PHASE -> new SetupPhase(game, buffer);
+            case ROLL_FOR_RESOURCES -> new RollForResources(game);
+            case ACTION_PHASE -> new ActionPhase(game, buffer);
+            case DISCARD_RESOURCES -> new DiscardResources(game, buffer);
+            case MOVE_ROBBER -> new MoveRobber(game, buffer);
+            case ROAD_BUILDING -> new RoadBuilding(game, buffer);
+            case MONOPOLY -> new Monopoly(game, read(game, buffer));
+            case YEAR_OF_PLENTY -> new YearOfPlenty(game, read(game, buffer));
+            case WINNER_STATE -> new WinnerState(game, readPlayer(game, buffer));
+            default -> throw new IllegalArgumentException("Unknown state tag " + tag);
+        };
+    }
+
+    private static byte tag(AbstractState state) {
+        if (state instanceof DetermineStartingPlayer) return DETERMINE_STARTING_PLAYER;
+        if (state instanceof SetupPhase) return SETUP_PHASE;
+        if (state instanceof RollForResources) return ROLL_FOR_RESOURCES;
+        if (state instanceof ActionPhase) return ACTION_PHASE;
+        if (state instanceof DiscardResources) return DISCARD_RESOURCES;
+        if (state instanceof MoveRobber) return MOVE_ROBBER;
+        if (state instanceof RoadBuilding) return ROAD_BUILDING;
+        if (state instanceof Monopoly) return MONOPOLY;
+        if (state instanceof YearOfPlenty) return YEAR_OF_PLENTY;
+        if (state instanceof WinnerState) return WINNER_STATE;
+        throw new IllegalArgumentException("Cannot encode " + state.getClass().getName());
+    }
+
+    static void writePlayer(ByteBuffer buffer, Player player) {
+        buffer.put(player == null ? -1 : (byte) player.color().ordinal());
+    }
+
+    static Player readPlayer(Game game, ByteBuffer buffer) {
+        byte color = buffer.get();
+        return color < 0 ? null : game.getPlayer(Color.values()[color]);
+    }
+
+    /**
+     * Writes an id or an amount in two bytes, the width {@link com.settlers.game.GameCodec} uses for them.
+     */
+    static void writeUnsignedShort(ByteBuffer buffer, int value) {
+        if (value < 0 || value > 0xFFFF) throw new IllegalArgumentException("Cannot encode " + value + " in two bytes");
+        buffer.putShort((short) value);
+    }
+
+    static int readUnsignedShort(ByteBuffer buffer) {
+        return Short.toUnsignedInt(buffer.getShort());
+    }
+
+    /**
+     * Writes a set of players as a bit mask of their colors.
+     */
+    static void writePlayers(ByteBuffer buffer, Collection<Player> players) {
+        int mask = 0;
+        for (Player player : players) {
+            mask |= 1 << player.color().ordinal();
+        }
+        buffer.put((byte) mask);
+    }
+
+    /**
+     * Reads a set of players written by {@link #writePlayers}, in the turn order of the game.
+     */
+    static List<Player> readPlayers(Game game, ByteBuffer buffer) {
+        int mask = buffer.get();
+        List<Player> players = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            if ((mask & (1 << player.color().ordinal())) != 0) players.add(player);
+        }
+
+        return players;
+    }
+}
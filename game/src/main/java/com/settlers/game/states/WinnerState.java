@@ -3,8 +3,23 @@ package com.settlers.game.states;
 import com.settlers.game.Game;
 import com.settlers.game.Player;
 
+import java.nio.ByteBuffer;
+
 public class WinnerState extends AbstractState {
+    private final Player winner;
+
     public WinnerState(Game game, Player winner) {
         super(game);
+        this.winner = winner;
+    }
+
+    @Override
+    public State copy(Game game) {
+        return new WinnerState(game, winner);
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        StateCodec.writePlayer(buffer, winner);
     }
 }
@@ -4,6 +4,7 @@ import com.settlers.game.Game;
 import com.settlers.game.Player;
 import com.settlers.game.Resource;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 public class YearOfPlenty extends AbstractState {
@@ -14,6 +15,16 @@ public class YearOfPlenty extends AbstractState {
         this.previousState = Objects.requireNonNull(previousState);
     }
 
+    @Override
+    public State copy(Game game) {
+        return new YearOfPlenty(game, previousState.copy(game));
+    }
+
+    @Override
+    void write(ByteBuffer buffer) {
+        StateCodec.write(previousState, buffer);
+    }
+
     @Override
     public boolean yearOfPlenty(Player player, Resource firstResource, Resource secondResource) {
         if (!game.getCurrentPlayer().equals(player)) return false;
@@ -24,4 +35,9 @@ public class YearOfPlenty extends AbstractState {
 
         return true;
     }
+
+    @Override
+    void addLegalMoves(Player player, LegalMoves moves) {
+        if (game.getCurrentPlayer().equals(player)) moves.setCanYearOfPlenty();
+    }
 }
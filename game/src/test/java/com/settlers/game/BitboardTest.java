@@ -0,0 +1,79 @@
+package com.settlers.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class BitboardTest {
+    @Test
+    public void testWhenRandomPlacements_ThenBitboardAgreesWithPositionRules() {
+        Board board = TestBoards.standardBoard();
+        Topology topology = board.getTopology();
+        Bitboard uut = board.getBitboard();
+        Random rng = new Random(42);
+
+        for (int step = 0; step < 300; step++) {
+            for (Color color : Color.values()) {
+                for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+                    Position position = topology.getVertexPosition(vertex);
+                    Assert.assertEquals(canPlaceSettlement(board, position, color, false), uut.canPlaceSettlement(vertex, color, false));
+                    Assert.assertEquals(canPlaceSettlement(board, position, color, true), uut.canPlaceSettlement(vertex, color, true));
+                    Assert.assertEquals(canPlaceCity(board, position, color), uut.canPlaceCity(vertex, color, false));
+                }
+                for (int edge = 0; edge < topology.edgeCount(); edge++) {
+                    Position position = topology.getEdgePosition(edge);
+                    Assert.assertEquals(canPlaceRoad(board, position, color), uut.canPlaceRoad(edge, color));
+                }
+            }
+
+            Color color = Color.values()[rng.nextInt(Color.values().length)];
+            if (rng.nextInt(4) == 0) {
+                Position position = topology.getVertexPosition(rng.nextInt(topology.vertexCount()));
+                Building.Type type = rng.nextBoolean() ? Building.Type.SETTLEMENT : Building.Type.CITY;
+                board.addBuilding(position, Building.of(color, type), step < 20);
+            } else {
+                Position position = topology.getEdgePosition(rng.nextInt(topology.edgeCount()));
+                board.addRoad(position, Road.of(color));
+            }
+        }
+    }
+
+    private static boolean canPlaceSettlement(Board board, Position position, Color color, boolean isSetupPhase) {
+        if (board.getBuilding(position).isPresent()) return false;
+        for (Position adjacent : position.getAdjacentVerticesForVertex()) {
+            if (board.getBuilding(adjacent).isPresent()) return false;
+        }
+        if (isSetupPhase) return true;
+        for (Position adjacent : position.getAdjacentEdgesForVertex()) {
+            if (board.getRoad(adjacent).filter(road -> road.color() == color).isPresent()) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean canPlaceCity(Board board, Position position, Color color) {
+        Building building = board.getBuilding(position).orElse(null);
+        if (building == null || building.color() != color || building.type() != Building.Type.SETTLEMENT) return false;
+        for (Position adjacent : position.getAdjacentVerticesForVertex()) {
+            if (board.getBuilding(adjacent).isPresent()) return false;
+        }
+        for (Position adjacent : position.getAdjacentEdgesForVertex()) {
+            if (board.getRoad(adjacent).filter(road -> road.color() == color).isPresent()) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean canPlaceRoad(Board board, Position position, Color color) {
+        if (board.getRoad(position).isPresent()) return false;
+        for (Position adjacent : position.getAdjacentVerticesForEdge()) {
+            if (board.getBuilding(adjacent).filter(building -> building.color() == color).isPresent()) return true;
+        }
+        for (Position adjacent : position.getAdjacentEdgesForEdge()) {
+            if (board.getRoad(adjacent).filter(road -> road.color() == color).isPresent()) return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.settlers.game;
+
+/**
+ * Prints the heap retained per board for boards built independently by a {@link BoardGenerator} and for copies of
+ * one board. Run with {@code java -cp target/classes:target/test-classes com.settlers.game.BoardFootprintBenchmark}.
+ */
+public class BoardFootprintBenchmark {
+    private static final int BOARDS = 20_000;
+
+    public static void main(String[] args) {
+        BoardGenerator generator = BoardGenerator.of(1);
+        Board[] boards = new Board[BOARDS];
+        long before = usedHeap();
+        for (int i = 0; i < BOARDS; i++) {
+            boards[i] = generator.next();
+        }
+        long generated = usedHeap() - before;
+        System.out.printf("bytes per generated board: %,d%n", generated / BOARDS);
+
+        Board board = boards[0];
+        boards = new Board[BOARDS];
+        before = usedHeap();
+        for (int i = 0; i < BOARDS; i++) {
+            boards[i] = board.copy();
+        }
+        long copied = usedHeap() - before;
+        System.out.printf("bytes per copied board:    %,d%n", copied / BOARDS);
+        System.out.println("checksum: " + boards[BOARDS - 1].hash());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
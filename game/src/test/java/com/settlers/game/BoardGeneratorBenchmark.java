@@ -0,0 +1,37 @@
+package com.settlers.game;
+
+/**
+ * Prints how many layouts and boards the generator produces per second on one thread.
+ * Run with {@code java -cp target/classes:target/test-classes com.settlers.game.BoardGeneratorBenchmark}.
+ */
+public class BoardGeneratorBenchmark {
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) {
+        BoardGenerator generator = BoardGenerator.builder()
+                .setSeed(1)
+                .setMaxResourcePips(14)
+                .build();
+        long checksum = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += generator.nextLayout().getNumber(0);
+            checksum += generator.next().getTopology().tileCount();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += generator.nextLayout().getNumber(0);
+        }
+        long layouts = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            checksum += generator.next().getTopology().tileCount();
+        }
+        long boards = System.nanoTime() - start;
+
+        System.out.printf("layouts/sec: %,.0f%n", ITERATIONS * 1e9 / layouts);
+        System.out.printf("boards/sec:  %,.0f%n", ITERATIONS / 10 * 1e9 / boards);
+        System.out.println("checksum: " + checksum);
+    }
+}
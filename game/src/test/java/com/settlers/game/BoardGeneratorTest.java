@@ -0,0 +1,92 @@
+package com.settlers.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class BoardGeneratorTest {
+    @Test
+    public void testWhenSameSeed_ThenSameLayouts() {
+        BoardGenerator first = BoardGenerator.of(42);
+        BoardGenerator second = BoardGenerator.of(42);
+
+        for (int i = 0; i < 100; i++) {
+            BoardGenerator.Layout expected = first.nextLayout();
+            BoardGenerator.Layout actual = second.nextLayout();
+            for (int tile = 0; tile < expected.tileCount(); tile++) {
+                Assert.assertEquals(expected.getResource(tile), actual.getResource(tile));
+                Assert.assertEquals(expected.getNumber(tile), actual.getNumber(tile));
+            }
+        }
+    }
+
+    @Test
+    public void testWhenLayoutsGenerated_ThenTilesAndTokensAreStandardAndRedNumbersNotAdjacent() {
+        BoardGenerator uut = BoardGenerator.of(1);
+
+        for (int i = 0; i < 1_000; i++) {
+            BoardGenerator.Layout layout = uut.nextLayout();
+            Map<Resource, Integer> resources = new EnumMap<>(Resource.class);
+            int[] numbers = new int[layout.tileCount()];
+            for (int tile = 0; tile < layout.tileCount(); tile++) {
+                resources.merge(layout.getResource(tile), 1, Integer::sum);
+                numbers[tile] = layout.getNumber(tile);
+                Assert.assertEquals(layout.getResource(tile) == Resource.NOTHING, layout.getNumber(tile) == 7);
+                if (!isRed(layout.getNumber(tile))) continue;
+                for (int other = 0; other < layout.tileCount(); other++) {
+                    if (isRed(layout.getNumber(other)) && isAdjacent(layout.getCoordinate(tile), layout.getCoordinate(other))) {
+                        Assert.fail("Adjacent 6/8 at " + layout.getCoordinate(tile) + " and " + layout.getCoordinate(other));
+                    }
+                }
+            }
+            Arrays.sort(numbers);
+            Assert.assertArrayEquals(new int[]{2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12}, numbers);
+            Assert.assertEquals(Map.of(Resource.LUMBER, 4, Resource.WOOL, 4, Resource.GRAIN, 4,
+                    Resource.BRICK, 3, Resource.ORE, 3, Resource.NOTHING, 1), resources);
+        }
+    }
+
+    @Test
+    public void testWhenPipBoundSet_ThenEveryResourceIsWithinBound() {
+        BoardGenerator uut = BoardGenerator.builder()
+                .setSeed(7)
+                .setMaxResourcePips(13)
+                .build();
+
+        for (int i = 0; i < 1_000; i++) {
+            BoardGenerator.Layout layout = uut.nextLayout();
+            for (Resource resource : Resource.values()) {
+                Assert.assertTrue(layout.getResourcePips(resource) <= 13);
+            }
+        }
+    }
+
+    @Test
+    public void testWhenBoardGenerated_ThenHarborsAndRobberArePlaced() {
+        Board board = BoardGenerator.of(3).next();
+        Topology topology = board.getTopology();
+
+        Map<Harbor, Integer> harbors = new EnumMap<>(Harbor.class);
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            board.getHarbor(topology.getVertexPosition(vertex)).ifPresent(harbor -> harbors.merge(harbor, 1, Integer::sum));
+        }
+
+        Assert.assertEquals(19, topology.tileCount());
+        Assert.assertEquals(Map.of(Harbor.ANY, 8, Harbor.BRICK, 2, Harbor.LUMBER, 2, Harbor.ORE, 2,
+                Harbor.GRAIN, 2, Harbor.WOOL, 2), harbors);
+        Assert.assertEquals(Resource.NOTHING, board.getTile(board.getRobber()).orElseThrow().resource());
+    }
+
+    private static boolean isRed(int number) {
+        return number == 6 || number == 8;
+    }
+
+    private static boolean isAdjacent(Coordinate first, Coordinate second) {
+        int dq = first.q() - second.q();
+        int dr = first.r() - second.r();
+        return (Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) == 2;
+    }
+}
@@ -3,6 +3,7 @@ package com.settlers.game;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Optional;
 
 public class BoardTest {
@@ -550,4 +551,137 @@ public class BoardTest {
 
         Assert.assertEquals(3, longestRoad);
     }
+
+    @Test
+    public void testWhenRoadForks_ThenLongestRoadDoesNotDoubleBackThroughFork() {
+        Tile tile = Tile.builder()
+                .addRoad(Direction.ONE, Road.of(Color.RED))
+                .addRoad(Direction.TWO, Road.of(Color.RED))
+                .addRoad(Direction.THREE, Road.of(Color.RED))
+                .addRoad(Direction.FOUR, Road.of(Color.RED))
+                .build(Resource.BRICK, 6);
+        Tile adjacentTile = Tile.builder()
+                .addRoad(Direction.THREE, Road.of(Color.RED))
+                .build(Resource.ORE, 5);
+        Board uut = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .addTile(Coordinate.of(1, -1), adjacentTile)
+                .build();
+
+        int longestRoad = uut.getLongestRoad(Player.create(Color.RED));
+
+        Assert.assertEquals(4, longestRoad);
+    }
+
+    @Test
+    public void testWhenRoadAdded_ThenLongestRoadUpdated() {
+        Tile tile = Tile.builder()
+                .addRoad(Direction.ONE, Road.of(Color.RED))
+                .build(Resource.BRICK, 6);
+        Board uut = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .build();
+
+        uut.addRoad(Position.of(0, 0, Direction.TWO), Road.of(Color.RED));
+        uut.addRoad(Position.of(0, 0, Direction.SIX), Road.of(Color.RED));
+
+        Assert.assertEquals(3, uut.getLongestRoad(Player.create(Color.RED)));
+    }
+
+    @Test
+    public void testWhenOpponentSettlementBreaksRoad_ThenLongestRoadShortened() {
+        Tile.Builder tileBuilder = Tile.builder();
+        for (Direction direction : List.of(Direction.ONE, Direction.TWO, Direction.THREE, Direction.FOUR, Direction.FIVE)) {
+            tileBuilder.addRoad(direction, Road.of(Color.RED));
+        }
+        Board uut = Board.builder()
+                .addTile(Coordinate.of(0, 0), tileBuilder.build(Resource.BRICK, 6))
+                .build();
+        Assert.assertEquals(5, uut.getLongestRoad(Player.create(Color.RED)));
+
+        uut.addBuilding(Position.of(0, 0, Direction.FOUR), Building.of(Color.BLUE, Building.Type.SETTLEMENT), true);
+
+        Assert.assertEquals(3, uut.getLongestRoad(Player.create(Color.RED)));
+    }
+
+    @Test
+    public void testWhenSettlementPlacedOnHarbor_ThenExchangeRatioLowered() {
+        Tile tile = Tile.builder()
+                .addHarbor(Direction.ONE, Harbor.WOOL)
+                .addHarbor(Direction.THREE, Harbor.ANY)
+                .build(Resource.ORE, 8);
+        Board uut = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .build();
+        Player player = Player.create(Color.RED);
+        Assert.assertEquals(4, uut.getExchangeRatio(Color.RED, Resource.WOOL));
+
+        uut.addBuilding(Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        uut.addBuilding(Position.of(0, 0, Direction.THREE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+
+        Assert.assertTrue(uut.hasHarbor(player, Harbor.WOOL));
+        Assert.assertTrue(uut.hasHarbor(player, Harbor.ANY));
+        Assert.assertEquals(2, uut.getExchangeRatio(Color.RED, Resource.WOOL));
+        Assert.assertEquals(3, uut.getExchangeRatio(Color.RED, Resource.ORE));
+        Assert.assertEquals(4, uut.getExchangeRatio(Color.BLUE, Resource.WOOL));
+    }
+
+    @Test
+    public void testWhenCopyChanged_ThenOriginalProductionAndExchangeRatiosUnchanged() {
+        Tile tile = Tile.builder()
+                .addHarbor(Direction.ONE, Harbor.WOOL)
+                .addBuilding(Direction.THREE, Building.of(Color.BLUE, Building.Type.SETTLEMENT))
+                .build(Resource.ORE, 8);
+        Board uut = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .build();
+
+        Board copy = uut.copy();
+        copy.addBuilding(Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        copy.addBuilding(Position.of(0, 0, Direction.THREE), Building.of(Color.BLUE, Building.Type.CITY), true);
+
+        int[] produced = new int[Color.values().length];
+        uut.produce(8, (color, resource, amount) -> produced[color.ordinal()] += amount);
+        Assert.assertEquals(0, produced[Color.RED.ordinal()]);
+        Assert.assertEquals(1, produced[Color.BLUE.ordinal()]);
+        Assert.assertEquals(4, uut.getExchangeRatio(Color.RED, Resource.WOOL));
+
+        int[] copyProduced = new int[Color.values().length];
+        copy.produce(8, (color, resource, amount) -> copyProduced[color.ordinal()] += amount);
+        Assert.assertEquals(1, copyProduced[Color.RED.ordinal()]);
+        Assert.assertEquals(2, copyProduced[Color.BLUE.ordinal()]);
+        Assert.assertEquals(2, copy.getExchangeRatio(Color.RED, Resource.WOOL));
+    }
+
+    @Test
+    public void testWhenSameLayoutBuiltTwice_ThenTerrainIsShared() {
+        Board uut = BoardGenerator.of(3).next();
+        Board other = BoardGenerator.of(3).next();
+        Board different = BoardGenerator.of(4).next();
+
+        Assert.assertSame(uut.getTerrain(), other.getTerrain());
+        Assert.assertSame(uut.getTopology(), different.getTopology());
+        Assert.assertNotSame(uut.getTerrain(), different.getTerrain());
+    }
+
+    @Test
+    public void testWhenPiecesPlaced_ThenTileSnapshotShowsThem() {
+        Tile tile = Tile.builder()
+                .addHarbor(Direction.ONE, Harbor.WOOL)
+                .build(Resource.ORE, 8);
+        Board uut = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .build();
+
+        uut.addBuilding(Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        uut.addRoad(Position.of(0, 0, Direction.ONE), Road.of(Color.RED));
+        Tile snapshot = uut.getTile(Coordinate.of(0, 0)).orElseThrow();
+
+        Assert.assertEquals(Resource.ORE, snapshot.resource());
+        Assert.assertEquals(8, snapshot.number());
+        Assert.assertEquals(Building.of(Color.RED, Building.Type.SETTLEMENT), snapshot.buildings().get(Direction.ONE));
+        Assert.assertEquals(Road.of(Color.RED), snapshot.roads().get(Direction.ONE));
+        Assert.assertEquals(Harbor.WOOL, snapshot.harbors().get(Direction.ONE));
+        Assert.assertEquals(1, uut.getBuildingPoints(Color.RED));
+    }
 }
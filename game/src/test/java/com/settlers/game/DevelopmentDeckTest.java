@@ -0,0 +1,79 @@
+package com.settlers.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class DevelopmentDeckTest {
+    private static List<DevelopmentCard> standardCards() {
+        List<DevelopmentCard> developmentCards = new ArrayList<>();
+        for (int i = 0; i < 14; i++) developmentCards.add(DevelopmentCard.KNIGHT);
+        for (int i = 0; i < 5; i++) developmentCards.add(DevelopmentCard.VICTORY_POINT);
+        for (int i = 0; i < 2; i++) {
+            developmentCards.add(DevelopmentCard.ROAD_BUILDING);
+            developmentCards.add(DevelopmentCard.YEAR_OF_PLENTY);
+            developmentCards.add(DevelopmentCard.MONOPOLY);
+        }
+
+        return developmentCards;
+    }
+
+    private static Game game(long seed) {
+        return Game.builder()
+                .addPlayer(Player.create(Color.RED))
+                .setDevelopmentCards(standardCards())
+                .shuffleDevelopmentCards()
+                .setSeed(seed)
+                .build();
+    }
+
+    @Test
+    public void testWhenShuffledWithSameSeed_ThenSameOrderAndSameCards() {
+        DevelopmentDeck deck = game(3).getDevelopmentCards();
+
+        Assert.assertEquals(deck, game(3).getDevelopmentCards());
+        Assert.assertNotEquals(DevelopmentDeck.of(standardCards()), deck);
+        Assert.assertEquals(25, deck.size());
+        Assert.assertEquals(14, deck.count(DevelopmentCard.KNIGHT));
+        Assert.assertEquals(5, deck.count(DevelopmentCard.VICTORY_POINT));
+    }
+
+    @Test
+    public void testWhenDrawsAndShuffleUndone_ThenDeckIsRestored() {
+        Game game = game(5);
+        game.takeDevelopmentCard();
+        DevelopmentDeck before = game.getDevelopmentCards().copy();
+
+        game.mark();
+        game.takeDevelopmentCard();
+        game.shuffleDevelopmentCards(new SplittableRandom(1));
+        game.takeDevelopmentCard();
+        Assert.assertEquals(22, game.getDevelopmentCards().size());
+        game.undo();
+
+        Assert.assertEquals(before, game.getDevelopmentCards());
+        game.mark();
+        game.takeDevelopmentCard();
+        game.undo();
+        Assert.assertEquals(24, game.getDevelopmentCards().size());
+    }
+
+    @Test
+    public void testWhenRemainderShuffled_ThenDrawnCardsAreKept() {
+        Game game = Game.builder()
+                .addPlayer(Player.create(Color.RED))
+                .setDevelopmentCards(List.of(DevelopmentCard.MONOPOLY, DevelopmentCard.KNIGHT, DevelopmentCard.KNIGHT))
+                .build();
+        Assert.assertEquals(DevelopmentCard.MONOPOLY, game.takeDevelopmentCard());
+
+        Game fork = game.fork();
+        fork.shuffleDevelopmentCards(new SplittableRandom(7));
+
+        Assert.assertEquals(2, fork.getDevelopmentCards().count(DevelopmentCard.KNIGHT));
+        Assert.assertEquals(0, fork.getDevelopmentCards().count(DevelopmentCard.MONOPOLY));
+        Assert.assertEquals(game.getDevelopmentCards(), fork.getDevelopmentCards());
+    }
+}
@@ -5,12 +5,15 @@ import com.settlers.game.dice.RandomDice;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.SplittableRandom;
+
 public class DiceTest {
     @Test
     public void testDiceRollAlwaysBetween2And12() {
         Dice uut = RandomDice.create();
+        SplittableRandom rng = new SplittableRandom(1);
         for (int i = 0; i < 10_000; i++) {
-            int roll = uut.roll();
+            int roll = uut.roll(rng);
             Assert.assertTrue(2 <= roll && roll <= 12);
         }
     }
@@ -0,0 +1,57 @@
+package com.settlers.game;
+
+import com.settlers.game.states.ActionPhase;
+
+/**
+ * Prints how many times per second a game after the setup phase can be forked, compared with building it anew.
+ * Run with {@code java -cp target/classes:target/test-classes com.settlers.game.ForkBenchmark}.
+ */
+public class ForkBenchmark {
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        Game game = createGame();
+        long checksum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += game.fork().getHash();
+            checksum += createGame().getHash();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += game.fork().getHash();
+        }
+        long fork = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            checksum += createGame().getHash();
+        }
+        long rebuild = System.nanoTime() - start;
+
+        System.out.printf("forks/sec:    %,.0f%n", ITERATIONS * 1e9 / fork);
+        System.out.printf("rebuilds/sec: %,.0f%n", ITERATIONS / 10 * 1e9 / rebuild);
+        System.out.println("checksum: " + checksum);
+    }
+
+    private static Game createGame() {
+        Game game = SimulatorTest.standardGame(1);
+        Board board = game.getBoard();
+        Topology topology = board.getTopology();
+        for (int round = 0; round < 2; round++) {
+            for (Player player : game.getPlayers()) {
+                int vertex = 0;
+                while (!board.getBitboard().canPlaceSettlement(vertex, player.color(), true)) vertex++;
+                board.addBuilding(topology.getVertexPosition(vertex), Building.of(player.color(), Building.Type.SETTLEMENT), true);
+                int edge = topology.vertexEdges().get(topology.vertexEdges().start(vertex));
+                board.addRoad(topology.getEdgePosition(edge), Road.of(player.color()));
+                player.inventory().putResource(Resource.BRICK, 2);
+                player.inventory().putResource(Resource.GRAIN, 1);
+            }
+        }
+        game.setState(new ActionPhase(game));
+
+        return game;
+    }
+}
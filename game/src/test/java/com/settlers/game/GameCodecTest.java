@@ -0,0 +1,190 @@
+package com.settlers.game;
+
+import com.settlers.game.dice.TestingDice;
+import com.settlers.game.states.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class GameCodecTest {
+    private static ByteBuffer encode(Game game) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        GameCodec.write(game, buffer);
+        return buffer.flip();
+    }
+
+    private static Game assertRoundTrip(Game game) {
+        ByteBuffer buffer = encode(game);
+        byte[] bytes = Arrays.copyOf(buffer.array(), buffer.limit());
+
+        Game decoded = GameCodec.read(buffer);
+
+        Assert.assertFalse(buffer.hasRemaining());
+        Assert.assertArrayEquals(bytes, Arrays.copyOf(encode(decoded).array(), bytes.length));
+        Assert.assertEquals(game.getHash(), decoded.getHash());
+        Assert.assertEquals(game.getState().getClass(), decoded.getState().getClass());
+        Assert.assertEquals(game.getCurrentPlayer().color(), decoded.getCurrentPlayer().color());
+        for (Player player : game.getPlayers()) {
+            Assert.assertEquals(game.getVictoryPoints(player), decoded.getVictoryPoints(decoded.getPlayer(player.color())));
+            Assert.assertEquals(game.getBoard().getLongestRoad(player), decoded.getBoard().getLongestRoad(decoded.getPlayer(player.color())));
+        }
+        return decoded;
+    }
+
+    private static Game gameAfterSetup() {
+        Game game = SimulatorTest.standardGame(1);
+        Board board = game.getBoard();
+        Topology topology = board.getTopology();
+        for (Player player : game.getPlayers()) {
+            for (int settlement = 0; settlement < 2; settlement++) {
+                int vertex = 0;
+                while (!board.getBitboard().canPlaceSettlement(vertex, player.color(), true)) vertex++;
+                board.addBuilding(topology.getVertexPosition(vertex), Building.of(player.color(), Building.Type.SETTLEMENT), true);
+                int edge = topology.vertexEdges().get(topology.vertexEdges().start(vertex));
+                board.addRoad(topology.getEdgePosition(edge), Road.of(player.color()));
+                player.inventory().useBuilding(Building.Type.SETTLEMENT);
+                player.inventory().useRoad();
+            }
+            player.inventory().putResource(Resource.BRICK, 3);
+            player.inventory().putResource(Resource.ORE, 2);
+            player.inventory().addDevelopmentCard(DevelopmentCard.KNIGHT);
+        }
+        game.setState(new ActionPhase(game));
+
+        return game;
+    }
+
+    @Test
+    public void testWhenGameAfterSetup_ThenEncodingIsSmallAndRoundTrips() {
+        Game game = gameAfterSetup();
+        game.getCurrentPlayer().inventory().useDevelopmentCard(DevelopmentCard.KNIGHT);
+
+        Assert.assertTrue(encode(game).limit() < 512);
+        Game decoded = assertRoundTrip(game);
+
+        Assert.assertEquals(1, decoded.getCurrentPlayer().inventory().usedKnights());
+        Assert.assertEquals(game.getLegalMoves(game.getCurrentPlayer()).getRoadCount(),
+                decoded.getLegalMoves(decoded.getCurrentPlayer()).getRoadCount());
+        Assert.assertEquals(game.getBoard().getRobber(), decoded.getBoard().getRobber());
+        Assert.assertEquals(4, decoded.getBoard().getExchangeRatio(Color.RED, Resource.ORE));
+    }
+
+    @Test
+    public void testWhenTradeInProgress_ThenDecodedGameCanAcceptIt() {
+        Game game = gameAfterSetup();
+        Player player = game.getCurrentPlayer();
+        Player receivingPlayer = game.getPlayers().get(1);
+        Trade trade = Trade.builder().offerBrick(2).receiveOre(1).build(player, receivingPlayer);
+        Assert.assertTrue(game.getState().offerTrade(player, trade));
+
+        Game decoded = assertRoundTrip(game);
+
+        Player decodedReceivingPlayer = decoded.getPlayer(receivingPlayer.color());
+        Assert.assertTrue(decoded.getState().acceptTrade(decodedReceivingPlayer));
+        Assert.assertEquals(5, decodedReceivingPlayer.inventory().getResource(Resource.BRICK));
+        Assert.assertEquals(3, game.getPlayer(receivingPlayer.color()).inventory().getResource(Resource.BRICK));
+    }
+
+    @Test
+    public void testWhenSetupPhaseSettlementPlaced_ThenDecodedGameOnlyAllowsAdjacentRoads() {
+        Game game = SimulatorTest.standardGame(2);
+        game.setState(new SetupPhase(game, true));
+        Player player = game.getCurrentPlayer();
+        Position settlement = game.getBoard().getTopology().getVertexPosition(20);
+        Assert.assertTrue(game.getState().addBuilding(player, settlement, Building.of(player.color(), Building.Type.SETTLEMENT)));
+
+        Game decoded = assertRoundTrip(game);
+
+        Assert.assertEquals(0, decoded.getLegalMoves(decoded.getCurrentPlayer()).getSettlementCount());
+        Assert.assertEquals(game.getLegalMoves(player).getRoadPositions(),
+                decoded.getLegalMoves(decoded.getCurrentPlayer()).getRoadPositions());
+    }
+
+    @Test
+    public void testWhenPlayersRolledForStart_ThenRollsAndRandomStateRoundTrip() {
+        Game game = SimulatorTest.standardGame(3);
+        Assert.assertTrue(game.getState().rollDice(game.getCurrentPlayer()));
+
+        Game decoded = assertRoundTrip(game);
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(game.rollDice(), decoded.rollDice());
+        }
+    }
+
+    @Test
+    public void testWhenNestedStates_ThenPreviousStatesRoundTrip() {
+        Game game = gameAfterSetup();
+        game.getPlayers().get(1).inventory().putResource(Resource.GRAIN, 5);
+        game.setState(new DiscardResources(game));
+        assertRoundTrip(game);
+
+        game.setState(new MoveRobber(game, new Monopoly(game, new ActionPhase(game))));
+        Assert.assertTrue(game.getState().moveRobber(game.getCurrentPlayer(), game.getBoard().getTopology().getCoordinate(0)));
+        assertRoundTrip(game);
+
+        game.setState(new RoadBuilding(game, new YearOfPlenty(game, new RollForResources(game))));
+        assertRoundTrip(game);
+
+        game.setState(new WinnerState(game, game.getCurrentPlayer()));
+        assertRoundTrip(game);
+    }
+
+    @Test
+    public void testWhenBoardHasOver255VerticesAndEdges_ThenIdsRobberAndSetupSettlementRoundTrip() {
+        Board.Builder builder = TestBoards.grainBoard(8);
+        Topology topology = builder.build().getTopology();
+        Board board = builder.setRobber(topology.getCoordinate(topology.tileCount() - 1)).build();
+        Player redPlayer = Player.create(Color.RED);
+        Game game = Game.builder().setBoard(board).addPlayer(redPlayer).setSeed(4).build();
+        int vertex = topology.vertexCount() - 1;
+        int edge = topology.edgeCount() - 1;
+        redPlayer.inventory().putResource(Resource.ORE, 300);
+        // placed through the setup phase, so the state keeps the vertex to attach the setup road to
+        game.setState(new SetupPhase(game, true));
+        Position settlement = topology.getVertexPosition(vertex);
+        Assert.assertTrue(game.getState().addBuilding(redPlayer, settlement, Building.of(Color.RED, Building.Type.SETTLEMENT)));
+        Assert.assertTrue(board.addRoad(topology.getEdgePosition(edge), Road.of(Color.RED)));
+
+        Game decoded = assertRoundTrip(game);
+
+        Assert.assertTrue(topology.tileCount() > 128);
+        Assert.assertTrue(vertex > 255);
+        Assert.assertEquals(board.getRobberTile(), decoded.getBoard().getRobberTile());
+        Assert.assertEquals(Building.of(Color.RED, Building.Type.SETTLEMENT), decoded.getBoard().getBuilding(vertex));
+        Assert.assertEquals(Road.of(Color.RED), decoded.getBoard().getRoad(edge));
+        Assert.assertEquals(300, decoded.getPlayer(Color.RED).inventory().getResource(Resource.ORE));
+        Assert.assertTrue(game.getLegalMoves(redPlayer).getRoadCount() > 0);
+        Assert.assertEquals(game.getLegalMoves(redPlayer).getRoadPositions(),
+                decoded.getLegalMoves(decoded.getCurrentPlayer()).getRoadPositions());
+    }
+
+    private static ByteBuffer encodeWithDeck(DevelopmentCard developmentCard) {
+        return encode(Game.builder()
+                .addPlayer(Player.create(Color.RED))
+                .setDevelopmentCards(List.of(developmentCard))
+                .setSeed(1)
+                .build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWhenDeckHoldsUnknownCard_ThenThrows() {
+        ByteBuffer buffer = encodeWithDeck(DevelopmentCard.KNIGHT);
+        int card = buffer.mismatch(encodeWithDeck(DevelopmentCard.MONOPOLY));
+        Assert.assertEquals(DevelopmentCard.KNIGHT.ordinal(), buffer.get(card));
+        buffer.put(card, (byte) DevelopmentCard.values().length);
+
+        GameCodec.read(buffer, TestingDice.of(7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWhenUnknownVersion_ThenThrows() {
+        ByteBuffer buffer = encode(gameAfterSetup());
+        buffer.put(0, (byte) (GameCodec.VERSION + 1));
+
+        GameCodec.read(buffer, TestingDice.of(7));
+    }
+}
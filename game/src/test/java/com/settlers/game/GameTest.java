@@ -0,0 +1,143 @@
+package com.settlers.game;
+
+import com.settlers.game.states.SetupPhase;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GameTest {
+    @Test
+    public void testWhenBuildingsAndVictoryPointCards_ThenVictoryPointsCounted() {
+        Tile tile = Tile.builder()
+                .addBuilding(Direction.ONE, Building.of(Color.RED, Building.Type.SETTLEMENT))
+                .addBuilding(Direction.THREE, Building.of(Color.RED, Building.Type.CITY))
+                .addBuilding(Direction.FIVE, Building.of(Color.BLUE, Building.Type.CITY))
+                .build(Resource.ORE, 8);
+        Board board = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .build();
+        Inventory redInventory = Inventory.builder()
+                .addDevelopmentCard(DevelopmentCard.VICTORY_POINT, 2)
+                .build();
+        Player redPlayer = Player.of(Color.RED, redInventory);
+        Game game = Game.builder()
+                .setBoard(board)
+                .addPlayer(redPlayer)
+                .addPlayer(Player.create(Color.BLUE))
+                .build();
+
+        Assert.assertEquals(5, game.getVictoryPoints(redPlayer));
+        Assert.assertEquals(2, game.getVictoryPoints(game.getPlayer(Color.BLUE)));
+    }
+
+    @Test
+    public void testWhenSettlementUpgradedToCity_ThenVictoryPointsIncreaseByOne() {
+        Tile tile = Tile.builder()
+                .addRoad(Direction.ONE, Road.of(Color.RED))
+                .addBuilding(Direction.ONE, Building.of(Color.RED, Building.Type.SETTLEMENT))
+                .build(Resource.ORE, 8);
+        Board board = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .build();
+        Player redPlayer = Player.create(Color.RED);
+        Game game = Game.builder()
+                .setBoard(board)
+                .addPlayer(redPlayer)
+                .build();
+
+        board.addBuilding(Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.CITY));
+
+        Assert.assertEquals(2, game.getVictoryPoints(redPlayer));
+    }
+
+    @Test
+    public void testWhenSamePositionReachedInDifferentOrder_ThenHashesAreEqual() {
+        Game first = createGame();
+        Game second = createGame();
+        Player firstPlayer = first.getPlayer(Color.RED);
+        Player secondPlayer = second.getPlayer(Color.RED);
+
+        first.getBoard().addBuilding(Position.of(0, 0, Direction.THREE), Building.of(Color.BLUE, Building.Type.SETTLEMENT), true);
+        first.getBoard().addBuilding(Position.of(0, 0, Direction.FIVE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        firstPlayer.inventory().putResource(Resource.ORE, 2);
+        firstPlayer.inventory().putResource(Resource.WOOL, 1);
+        second.getBoard().addBuilding(Position.of(0, 0, Direction.FIVE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        second.getBoard().addBuilding(Position.of(0, 0, Direction.THREE), Building.of(Color.BLUE, Building.Type.SETTLEMENT), true);
+        secondPlayer.inventory().putResource(Resource.WOOL, 1);
+        secondPlayer.inventory().putResource(Resource.ORE, 3);
+        secondPlayer.inventory().putResource(Resource.ORE, -1);
+
+        Assert.assertEquals(2, first.getBoard().getBuildings(Color.RED).size());
+        Assert.assertEquals(first.getHash(), second.getHash());
+    }
+
+    @Test
+    public void testWhenPositionDiffers_ThenHashesDiffer() {
+        Game game = createGame();
+        long initial = game.getHash();
+
+        game.getPlayer(Color.BLUE).inventory().putResource(Resource.ORE, 1);
+        long afterResource = game.getHash();
+        game.nextPlayer();
+        long afterNextPlayer = game.getHash();
+        game.getBoard().setRobber(Coordinate.of(0, 0));
+        long afterRobber = game.getHash();
+
+        Assert.assertNotEquals(initial, afterResource);
+        Assert.assertNotEquals(afterResource, afterNextPlayer);
+        Assert.assertNotEquals(afterNextPlayer, afterRobber);
+    }
+
+    private static Game createGame() {
+        Tile tile = Tile.builder()
+                .addBuilding(Direction.ONE, Building.of(Color.RED, Building.Type.SETTLEMENT))
+                .build(Resource.ORE, 8);
+        Board board = Board.builder()
+                .addTile(Coordinate.of(0, 0), tile)
+                .build();
+
+        return Game.builder()
+                .setBoard(board)
+                .addPlayer(Player.create(Color.RED))
+                .addPlayer(Player.create(Color.BLUE))
+                .build();
+    }
+
+    @Test
+    public void testWhenForkChanged_ThenOriginalIsUnchanged() {
+        Game game = createGame();
+        game.setState(new SetupPhase(game, true));
+        long hash = game.getHash();
+
+        Game fork = game.fork();
+        Assert.assertEquals(hash, fork.getHash());
+        Player forkPlayer = fork.getCurrentPlayer();
+        Assert.assertTrue(fork.getState().addBuilding(forkPlayer, Position.of(0, 0, Direction.THREE), Building.of(forkPlayer.color(), Building.Type.SETTLEMENT)));
+        Assert.assertTrue(fork.getState().addRoad(forkPlayer, Position.of(0, 0, Direction.THREE), Road.of(forkPlayer.color())));
+        forkPlayer.inventory().putResource(Resource.ORE, 3);
+
+        Assert.assertNotEquals(hash, fork.getHash());
+        Assert.assertEquals(hash, game.getHash());
+        Assert.assertTrue(game.getBoard().getBuilding(Position.of(0, 0, Direction.THREE)).isEmpty());
+        Assert.assertTrue(game.getBoard().getRoad(Position.of(0, 0, Direction.THREE)).isEmpty());
+        Assert.assertEquals(0, game.getCurrentPlayer().inventory().getResource(Resource.ORE));
+        Assert.assertEquals(game.getPlayers().get(0), game.getCurrentPlayer());
+        Assert.assertTrue(game.getState().addBuilding(game.getCurrentPlayer(), Position.of(0, 0, Direction.THREE), Building.of(Color.RED, Building.Type.SETTLEMENT)));
+    }
+
+    @Test
+    public void testWhenSameSeed_ThenSameRollsAndSteals() {
+        Game game = Game.builder().setSeed(42).build();
+        Game other = Game.builder().setSeed(42).build();
+        Inventory inventory = Inventory.builder().addBrick(5).addLumber(5).addWool(5).addGrain(5).addOre(5).build();
+        Inventory otherInventory = Inventory.builder().addBrick(5).addLumber(5).addWool(5).addGrain(5).addOre(5).build();
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(game.rollDice(), other.rollDice());
+            Assert.assertEquals(inventory.stealResource(game.getRandom()), otherInventory.stealResource(other.getRandom()));
+        }
+        Game fork = game.fork();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(game.rollDice(), fork.rollDice());
+        }
+    }
+}
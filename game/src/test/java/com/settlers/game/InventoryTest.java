@@ -47,4 +47,29 @@ public class InventoryTest {
         Assert.assertTrue(cityUsed);
         Assert.assertTrue(secondSettlementUsed);
     }
+
+    @Test
+    public void testWhenOneResourceShortOfCost_ThenCannotAffordOrPay() {
+        Inventory uut = Inventory.builder().addOre(2).addGrain(5).addWool(7).build();
+        long cost = Inventory.cost(0, 0, 3, 2, 0);
+
+        Assert.assertFalse(uut.canAfford(cost));
+        Assert.assertFalse(uut.pay(cost));
+        Assert.assertEquals(14, uut.totalResources());
+    }
+
+    @Test
+    public void testWhenCostPaid_ThenResourcesTotalAndHashFollow() {
+        Inventory uut = Inventory.builder().addOre(3).addGrain(5).addWool(7).build();
+        long cost = Inventory.cost(0, 0, 3, 2, 0);
+
+        Assert.assertTrue(uut.canAfford(cost));
+        Assert.assertTrue(uut.pay(cost));
+
+        Assert.assertEquals(0, uut.getResource(Resource.ORE));
+        Assert.assertEquals(3, uut.getResource(Resource.GRAIN));
+        Assert.assertEquals(7, uut.getResource(Resource.WOOL));
+        Assert.assertEquals(10, uut.totalResources());
+        Assert.assertEquals(uut.computeHash(), uut.hash());
+    }
 }
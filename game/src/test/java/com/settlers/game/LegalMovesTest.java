@@ -0,0 +1,90 @@
+package com.settlers.game;
+
+import com.settlers.game.states.ActionPhase;
+import com.settlers.game.states.LegalMoves;
+import com.settlers.game.states.SetupPhase;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LegalMovesTest {
+    @Test
+    public void testWhenSetupPhaseOnEmptyBoard_ThenEverySettlementIsLegal() {
+        Player player = Player.create(Color.RED);
+        Game game = Game.builder()
+                .setBoard(TestBoards.standardBoard())
+                .addPlayer(player)
+                .build();
+        game.setState(new SetupPhase(game, true));
+
+        LegalMoves uut = game.getLegalMoves(player);
+
+        Assert.assertEquals(54, uut.getSettlementCount());
+        Assert.assertEquals(0, uut.getRoadCount());
+        Assert.assertFalse(uut.canRollDice());
+    }
+
+    @Test
+    public void testWhenSetupSettlementPlaced_ThenOnlyAdjacentRoadsAreLegal() {
+        Player player = Player.create(Color.RED);
+        Game game = Game.builder()
+                .setBoard(TestBoards.standardBoard())
+                .addPlayer(player)
+                .build();
+        game.setState(new SetupPhase(game, true));
+        Position settlementPosition = Position.of(0, 0, Direction.ONE);
+        game.getState().addBuilding(player, settlementPosition, Building.of(Color.RED, Building.Type.SETTLEMENT));
+
+        LegalMoves uut = game.getLegalMoves(player);
+
+        Assert.assertEquals(0, uut.getSettlementCount());
+        Assert.assertEquals(3, uut.getRoadCount());
+        Position road = uut.getRoadPositions().get(0);
+        Assert.assertTrue(game.getState().addRoad(player, road, Road.of(Color.RED)));
+    }
+
+    @Test
+    public void testWhenActionPhase_ThenLegalMovesMatchBoardAndAreCached() {
+        Board board = TestBoards.standardBoard();
+        Topology topology = board.getTopology();
+        board.addBuilding(Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        board.addRoad(Position.of(0, 0, Direction.ONE), Road.of(Color.RED));
+        board.addRoad(Position.of(0, 0, Direction.TWO), Road.of(Color.RED));
+        Inventory inventory = Inventory.builder()
+                .addBrick(5)
+                .addLumber(5)
+                .addWool(5)
+                .addGrain(5)
+                .addOre(5)
+                .build();
+        Player player = Player.of(Color.RED, inventory);
+        Game game = Game.builder()
+                .setBoard(board)
+                .addPlayer(player)
+                .addPlayer(Player.create(Color.BLUE))
+                .build();
+        game.setState(new ActionPhase(game));
+        long version = game.getVersion();
+
+        LegalMoves uut = game.getLegalMoves(player);
+
+        Assert.assertEquals(version, game.getVersion());
+        Assert.assertSame(uut, game.getLegalMoves(player));
+        Assert.assertEquals(1, uut.getSettlementCount());
+        Assert.assertEquals(1, uut.getCityCount());
+        Assert.assertTrue(uut.canEndTurn());
+        Assert.assertTrue(uut.canExchange(Resource.ORE, Resource.WOOL));
+        Assert.assertFalse(uut.canExchange(Resource.ORE, Resource.ORE));
+        Assert.assertFalse(uut.canUseDevelopmentCard(DevelopmentCard.KNIGHT));
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            boolean listed = false;
+            for (int i = 0; i < uut.getSettlementCount(); i++) {
+                if (uut.getSettlement(i) == vertex) listed = true;
+            }
+            Assert.assertEquals(listed, board.getBitboard().canPlaceSettlement(vertex, Color.RED, false));
+        }
+
+        Position settlement = uut.getSettlementPositions().get(0);
+        Assert.assertTrue(game.getState().addBuilding(player, settlement, Building.of(Color.RED, Building.Type.SETTLEMENT)));
+        Assert.assertNotSame(uut, game.getLegalMoves(player));
+    }
+}
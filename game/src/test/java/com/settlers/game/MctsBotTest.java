@@ -0,0 +1,120 @@
+package com.settlers.game;
+
+import com.settlers.game.simulation.MctsBot;
+import com.settlers.game.states.ActionPhase;
+import com.settlers.game.states.DiscardResources;
+import com.settlers.game.states.SetupPhase;
+import com.settlers.game.states.WinnerState;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+
+public class MctsBotTest {
+    private static Game winnableGame() {
+        Board board = SimulatorTest.standardGame(3).getBoard().copy();
+        Position settlement = board.getTopology().getVertexPosition(20);
+        board.addBuilding(settlement, Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        Inventory inventory = Inventory.builder()
+                .addBrick(1)
+                .addLumber(1)
+                .addWool(1)
+                .addGrain(1)
+                .addDevelopmentCard(DevelopmentCard.VICTORY_POINT, 8)
+                .build();
+        Player redPlayer = Player.of(Color.RED, inventory);
+        Game game = Game.builder()
+                .setBoard(board)
+                .addPlayer(redPlayer)
+                .addPlayer(Player.create(Color.BLUE))
+                .build();
+        // two roads away from the settlement make a new settlement legal
+        Topology topology = board.getTopology();
+        int vertex = topology.getVertex(settlement);
+        int first = topology.vertexEdges().get(topology.vertexEdges().start(vertex));
+        board.addRoad(topology.getEdgePosition(first), Road.of(Color.RED));
+        int next = topology.edgeEdges().get(topology.edgeEdges().start(first));
+        for (int i = topology.edgeEdges().start(first); i < topology.edgeEdges().end(first); i++) {
+            if (!topology.vertexEdges().contains(vertex, topology.edgeEdges().get(i))) next = topology.edgeEdges().get(i);
+        }
+        board.addRoad(topology.getEdgePosition(next), Road.of(Color.RED));
+        game.setState(new ActionPhase(game));
+
+        return game;
+    }
+
+    @Test
+    public void testWhenWinningSettlementAvailable_ThenTreeParallelSearchBuildsIt() {
+        Game game = winnableGame();
+        Player player = game.getCurrentPlayer();
+        Assert.assertTrue(game.getLegalMoves(player).getSettlementCount() > 0);
+        MctsBot uut = MctsBot.builder()
+                .setThreads(2)
+                .setIterations(2_000)
+                .setTimeBudget(Duration.ofSeconds(10))
+                .setSeed(1)
+                .build();
+
+        Assert.assertTrue(uut.act(game, player, game.getLegalMoves(player)));
+
+        Assert.assertTrue(game.getState() instanceof WinnerState);
+    }
+
+    @Test
+    public void testWhenWinningSettlementAvailable_ThenRootParallelSearchBuildsIt() {
+        Game game = winnableGame();
+        Player player = game.getCurrentPlayer();
+        MctsBot uut = MctsBot.builder()
+                .setThreads(2)
+                .setTrees(2)
+                .setIterations(2_000)
+                .setTimeBudget(Duration.ofSeconds(10))
+                .setSeed(1)
+                .build();
+
+        Assert.assertTrue(uut.act(game, player, game.getLegalMoves(player)));
+
+        Assert.assertTrue(game.getState() instanceof WinnerState);
+    }
+
+    @Test
+    public void testWhenTimeBudgetSet_ThenMoveIsAnsweredWithinBudget() {
+        Game game = SimulatorTest.standardGame(5);
+        game.setState(new SetupPhase(game, true));
+        Player player = game.getCurrentPlayer();
+        MctsBot uut = MctsBot.builder()
+                .setThreads(2)
+                .setTimeBudget(Duration.ofMillis(50))
+                .build();
+
+        long start = System.nanoTime();
+        Assert.assertTrue(uut.act(game, player, game.getLegalMoves(player)));
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertTrue("took " + elapsed / 1_000_000 + " ms", elapsed < Duration.ofMillis(500).toNanos());
+        Assert.assertEquals(1, game.getBoard().getBuildings(player.color()).size());
+    }
+
+    @Test
+    public void testWhenAskedForPlayerOtherThanNextActor_ThenSearchesThatPlayersMoves() {
+        Player redPlayer = Player.of(Color.RED, Inventory.builder().addBrick(8).build());
+        Player bluePlayer = Player.of(Color.BLUE, Inventory.builder().addOre(4).addWool(4).build());
+        Game game = Game.builder()
+                .setBoard(SimulatorTest.standardGame(4).getBoard().copy())
+                .addPlayer(redPlayer)
+                .addPlayer(bluePlayer)
+                .build();
+        game.setState(new DiscardResources(game));
+        MctsBot uut = MctsBot.builder()
+                .setThreads(1)
+                .setIterations(200)
+                .setTimeBudget(Duration.ofSeconds(10))
+                .setSeed(1)
+                .build();
+
+        Assert.assertTrue(uut.act(game, bluePlayer, game.getLegalMoves(bluePlayer)));
+
+        Assert.assertEquals(4, bluePlayer.inventory().totalResources());
+        Assert.assertEquals(8, redPlayer.inventory().totalResources());
+    }
+}
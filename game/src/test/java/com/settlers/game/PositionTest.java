@@ -12,4 +12,21 @@ public class PositionTest {
         Assert.assertTrue(positionOne.isSameEdge(positionTwo));
         Assert.assertTrue(positionTwo.isSameEdge(positionOne));
     }
+
+    @Test
+    public void testWhenPacked_ThenUnpackReturnsSamePosition() {
+        for (Position position : new Position[]{
+                Position.of(0, 0, Direction.ONE),
+                Position.of(-3, 2, Direction.FOUR),
+                Position.of(8191, -8192, Direction.SIX)}) {
+            Assert.assertEquals(position, Position.unpack(position.pack()));
+            Assert.assertEquals(position.coordinate(), Coordinate.unpack(position.coordinate().pack()));
+        }
+    }
+
+    @Test
+    public void testWhenCoordinateOutOfRange_ThenPackReturnsNegative() {
+        Assert.assertEquals(-1, Coordinate.pack(8192, 0));
+        Assert.assertEquals(-1, Position.pack(0, -8193, Direction.ONE));
+    }
 }
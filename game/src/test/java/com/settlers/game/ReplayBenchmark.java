@@ -0,0 +1,76 @@
+package com.settlers.game;
+
+import com.settlers.game.replay.EventLog;
+import com.settlers.game.replay.ReplayStore;
+import com.settlers.game.replay.Replayer;
+
+import java.util.SplittableRandom;
+
+/**
+ * Records random games and prints how many logged events per second a replay applies on one thread, and how many
+ * random positions per second a {@link ReplayStore} seeks to.
+ * Run with {@code java -cp target/classes:target/test-classes com.settlers.game.ReplayBenchmark}.
+ */
+public class ReplayBenchmark {
+    private static final int GAMES = 20;
+    private static final int ITERATIONS = 200;
+    private static final int INTERVAL = 32;
+    private static final int SEEKS = 100_000;
+
+    public static void main(String[] args) {
+        Game[] starts = new Game[GAMES];
+        EventLog[] logs = new EventLog[GAMES];
+        long events = 0;
+        for (int i = 0; i < GAMES; i++) {
+            starts[i] = SimulatorTest.standardGame(i);
+            logs[i] = ReplayTest.playRandomGame(starts[i].fork(), i, 10_000).getLog();
+            events += logs[i].size();
+        }
+
+        long checksum = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += replayAll(starts, logs);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += replayAll(starts, logs);
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("events per game: %,d%n", events / GAMES);
+        System.out.printf("events/sec:      %,.0f%n", events * ITERATIONS * 1e9 / nanos);
+
+        ReplayStore[] stores = new ReplayStore[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            stores[i] = ReplayStore.of(starts[i], logs[i], INTERVAL);
+        }
+        checksum += seekRandomly(stores, new SplittableRandom(0));
+        start = System.nanoTime();
+        checksum += seekRandomly(stores, new SplittableRandom(1));
+        nanos = System.nanoTime() - start;
+
+        System.out.printf("seeks/sec:       %,.0f (every %d events)%n", SEEKS * 1e9 / nanos, INTERVAL);
+        System.out.println("checksum: " + checksum);
+    }
+
+    private static long seekRandomly(ReplayStore[] stores, SplittableRandom random) {
+        long checksum = 0;
+        for (int i = 0; i < SEEKS; i++) {
+            ReplayStore store = stores[random.nextInt(stores.length)];
+            checksum += store.seek(random.nextInt(store.size() + 1)).getHash();
+        }
+
+        return checksum;
+    }
+
+    private static long replayAll(Game[] starts, EventLog[] logs) {
+        long checksum = 0;
+        for (int i = 0; i < starts.length; i++) {
+            Game game = starts[i].fork();
+            Replayer.replay(game, logs[i]);
+            checksum += game.getHash();
+        }
+
+        return checksum;
+    }
+}
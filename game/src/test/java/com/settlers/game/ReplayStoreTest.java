@@ -0,0 +1,113 @@
+package com.settlers.game;
+
+import com.settlers.game.replay.EventLog;
+import com.settlers.game.replay.ReplayCursor;
+import com.settlers.game.replay.ReplayStore;
+import com.settlers.game.replay.Replayer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class ReplayStoreTest {
+    private static final int INTERVAL = 16;
+
+    private final Game start = SimulatorTest.standardGame(11);
+    private final Game end = start.fork();
+    private final EventLog log = ReplayTest.playRandomGame(end, 11, 1_000).getLog();
+    private final ReplayStore store = ReplayStore.of(start, log, INTERVAL);
+
+    private static byte[] encode(Game game) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        GameCodec.write(game, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private long hashFromStart(int position) {
+        Game game = start.fork();
+        Replayer.replay(game, log, 0, position);
+        return game.getHash();
+    }
+
+    @Test
+    public void testWhenSought_ThenGameMatchesReplayFromStart() {
+        Assert.assertTrue(log.size() > 3 * INTERVAL);
+        for (int position : new int[]{0, 1, INTERVAL - 1, INTERVAL, INTERVAL + 1, 3 * INTERVAL + 5, log.size()}) {
+            Assert.assertEquals(hashFromStart(position), store.seek(position).getHash());
+        }
+        Assert.assertEquals(end.getHash(), store.seek(log.size()).getHash());
+    }
+
+    @Test
+    public void testWhenStoreBuilt_ThenStartGameIsUnchanged() {
+        ByteBuffer before = ByteBuffer.allocate(1024);
+        GameCodec.write(SimulatorTest.standardGame(11), before);
+        ByteBuffer after = ByteBuffer.allocate(1024);
+        GameCodec.write(start, after);
+
+        Assert.assertEquals(before.flip(), after.flip());
+    }
+
+    @Test
+    public void testWhenCursorSteppedForwardAndBack_ThenEveryPositionMatchesSeek() {
+        ReplayCursor cursor = store.cursor(0);
+        while (cursor.hasNext()) {
+            cursor.next();
+            Assert.assertArrayEquals(encode(store.seek(cursor.getPosition())), encode(cursor.getGame()));
+        }
+        Assert.assertEquals(end.getHash(), cursor.getGame().getHash());
+
+        // stepping back from a fresh seek goes through the checkpoints instead of the journal
+        cursor.seek(2 * INTERVAL + 3);
+        while (cursor.hasPrevious()) {
+            cursor.previous();
+            Assert.assertArrayEquals(encode(store.seek(cursor.getPosition())), encode(cursor.getGame()));
+        }
+        Assert.assertEquals(0, cursor.getPosition());
+
+        // stepping back through the journal as well
+        cursor.seek(3 * INTERVAL);
+        for (int position = 3 * INTERVAL + 1; position < 4 * INTERVAL; position++) {
+            cursor.next();
+        }
+        while (cursor.getPosition() > 3 * INTERVAL) {
+            cursor.previous();
+            Assert.assertArrayEquals(encode(store.seek(cursor.getPosition())), encode(cursor.getGame()));
+        }
+    }
+
+    @Test
+    public void testWhenCursorSoughtBackAndForth_ThenGameMatchesSeek() {
+        ReplayCursor cursor = store.cursor(log.size());
+        for (int position : new int[]{5, 5 + INTERVAL, 7, log.size() - 1, 0, 3}) {
+            cursor.seek(position);
+            Assert.assertEquals(position, cursor.getPosition());
+            Assert.assertEquals(hashFromStart(position), cursor.getGame().getHash());
+        }
+    }
+
+    @Test
+    public void testWhenBoardIsLarge_ThenCheckpointsGrowAndSeekMatchesReplayFromStart() {
+        Game largeStart = Game.builder()
+                .setBoard(TestBoards.grainBoard(20).setRobber(Coordinate.of(0, 0)).build())
+                .addPlayer(Player.create(Color.RED))
+                .addPlayer(Player.create(Color.BLUE))
+                .setSeed(12)
+                .build();
+        Game largeEnd = largeStart.fork();
+        EventLog largeLog = ReplayTest.playRandomGame(largeEnd, 12, 100).getLog();
+
+        ReplayStore largeStore = ReplayStore.of(largeStart, largeLog, INTERVAL);
+
+        Assert.assertTrue(encode(largeStart).length > 4096);
+        Assert.assertTrue(largeLog.size() > INTERVAL);
+        Assert.assertArrayEquals(encode(largeStart), encode(largeStore.seek(0)));
+        Assert.assertArrayEquals(encode(largeEnd), encode(largeStore.seek(largeLog.size())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWhenIntervalIsNotPositive_ThenThrows() {
+        ReplayStore.of(start, log, 0);
+    }
+}
@@ -0,0 +1,195 @@
+package com.settlers.game;
+
+import com.settlers.game.dice.TestingDice;
+import com.settlers.game.replay.EventLog;
+import com.settlers.game.replay.EventType;
+import com.settlers.game.replay.GameRecorder;
+import com.settlers.game.replay.Replayer;
+import com.settlers.game.simulation.RandomBot;
+import com.settlers.game.states.ActionPhase;
+import com.settlers.game.states.DiscardResources;
+import com.settlers.game.states.MoveRobber;
+import com.settlers.game.states.WinnerState;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class ReplayTest {
+    private static byte[] snapshot(Game game) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        GameCodec.write(game, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Plays random moves through a recorder until somebody wins or the action limit is reached.
+     */
+    static GameRecorder playRandomGame(Game game, long seed, int maxActions) {
+        GameRecorder recorder = new GameRecorder(game, new EventLog());
+        RandomBot bot = RandomBot.of(new SplittableRandom(seed));
+        for (int actions = 0; actions < maxActions && !(game.getState() instanceof WinnerState); actions++) {
+            Player actor = null;
+            for (int i = 0; i < game.getPlayers().size() && actor == null; i++) {
+                Player player = game.getPlayers().get((game.getPlayers().indexOf(game.getCurrentPlayer()) + i) % game.getPlayers().size());
+                if (!game.getLegalMoves(player).isEmpty()) actor = player;
+            }
+            if (actor == null || !bot.act(recorder, game, actor, game.getLegalMoves(actor))) break;
+        }
+
+        return recorder;
+    }
+
+    @Test
+    public void testWhenRandomGameReplayed_ThenReplayEndsInTheSameGame() {
+        Game game = SimulatorTest.standardGame(5);
+        byte[] start = snapshot(game);
+
+        EventLog log = playRandomGame(game, 5, 5_000).getLog();
+        Game replayed = GameCodec.read(ByteBuffer.wrap(start));
+        Replayer.replay(replayed, log);
+
+        Assert.assertTrue(log.size() > 100);
+        Assert.assertArrayEquals(snapshot(game), snapshot(replayed));
+        Assert.assertEquals(game.getHash(), replayed.getHash());
+    }
+
+    @Test
+    public void testWhenLogWrittenAndRead_ThenEventsAreUnchanged() {
+        EventLog log = playRandomGame(SimulatorTest.standardGame(6), 6, 500).getLog();
+        ByteBuffer buffer = ByteBuffer.allocate(4 + log.size() * Long.BYTES);
+
+        log.write(buffer);
+        EventLog read = EventLog.read(buffer.flip());
+
+        Assert.assertEquals(log.size(), read.size());
+        for (int i = 0; i < log.size(); i++) {
+            Assert.assertEquals(log.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    public void testWhenRollAndStealRecorded_ThenReplayForcesTheSameOutcomes() {
+        Game game = SimulatorTest.standardGame(7);
+        Player red = game.getPlayer(Color.RED);
+        Player blue = game.getPlayer(Color.BLUE);
+        blue.inventory().putResource(Resource.ORE, 1);
+        blue.inventory().putResource(Resource.WOOL, 1);
+        Topology topology = game.getBoard().getTopology();
+        int vertex = 0;
+        while (topology.getCoordinate(topology.vertexTiles().get(topology.vertexTiles().start(vertex))).equals(game.getBoard().getRobber())) vertex++;
+        game.getBoard().addBuilding(topology.getVertexPosition(vertex), Building.of(Color.BLUE, Building.Type.SETTLEMENT), true);
+        int tile = topology.vertexTiles().get(topology.vertexTiles().start(vertex));
+        while (!game.getCurrentPlayer().equals(red)) game.nextPlayer();
+        game.setState(new MoveRobber(game));
+        byte[] start = snapshot(game);
+        GameRecorder recorder = new GameRecorder(game, new EventLog());
+
+        Assert.assertTrue(recorder.moveRobber(red, topology.getCoordinate(tile)));
+        Assert.assertTrue(recorder.stealResource(red, blue));
+        Assert.assertTrue(recorder.endTurn(red));
+        Assert.assertTrue(recorder.rollDice(blue));
+
+        EventLog log = recorder.getLog();
+        Assert.assertEquals(EventType.STEAL_RESOURCE, EventLog.type(log.get(1)));
+        Assert.assertEquals(EventType.ROLL_DICE, EventLog.type(log.get(3)));
+        Assert.assertEquals(Color.BLUE, EventLog.color(log.get(3)));
+        // a replay with other dice and another random state still has the recorded outcomes
+        Game replayed = GameCodec.read(ByteBuffer.wrap(start), TestingDice.of(2));
+        Replayer.replay(replayed, log);
+        Assert.assertEquals(game.getHash(), replayed.getHash());
+        Assert.assertEquals(game.getLastRoll(), replayed.getLastRoll());
+    }
+
+    @Test
+    public void testWhenTradeRecorded_ThenReplayRepeatsIt() {
+        Game game = SimulatorTest.standardGame(8);
+        game.setState(new ActionPhase(game));
+        Player player = game.getCurrentPlayer();
+        Player receivingPlayer = game.getPlayers().get(1);
+        player.inventory().putResource(Resource.BRICK, 2);
+        receivingPlayer.inventory().putResource(Resource.GRAIN, 1);
+        byte[] start = snapshot(game);
+        GameRecorder recorder = new GameRecorder(game, new EventLog());
+
+        Assert.assertTrue(recorder.offerTrade(player, Trade.builder().offerBrick(2).receiveGrain(1).build(player, receivingPlayer)));
+        Assert.assertTrue(recorder.acceptTrade(receivingPlayer));
+
+        Game replayed = GameCodec.read(ByteBuffer.wrap(start));
+        Replayer.replay(replayed, recorder.getLog());
+        Assert.assertEquals(1, replayed.getCurrentPlayer().inventory().getResource(Resource.GRAIN));
+        Assert.assertEquals(2, replayed.getPlayer(receivingPlayer.color()).inventory().getResource(Resource.BRICK));
+        Assert.assertArrayEquals(snapshot(game), snapshot(replayed));
+    }
+
+    @Test
+    public void testWhenAmountsCannotBeLogged_ThenRecorderRejectsBeforeGameChanges() {
+        Game game = SimulatorTest.standardGame(10);
+        game.setState(new ActionPhase(game));
+        Player player = game.getCurrentPlayer();
+        Player receivingPlayer = game.getPlayers().get(1);
+        player.inventory().putResource(Resource.BRICK, 32);
+        receivingPlayer.inventory().putResource(Resource.GRAIN, 1);
+        byte[] before = snapshot(game);
+        GameRecorder recorder = new GameRecorder(game, new EventLog());
+
+        Trade trade = Trade.builder().offerBrick(32).receiveGrain(1).build(player, receivingPlayer);
+        Assert.assertThrows(IllegalArgumentException.class, () -> recorder.offerTrade(player, trade));
+
+        Assert.assertArrayEquals(before, snapshot(game));
+        Assert.assertEquals(0, recorder.getLog().size());
+    }
+
+    @Test
+    public void testWhenLargeDiscardRecorded_ThenReplayRepeatsIt() {
+        Game game = SimulatorTest.standardGame(12);
+        Player player = game.getCurrentPlayer();
+        player.inventory().putResource(Resource.ORE, 80);
+        game.setState(new DiscardResources(game));
+        byte[] start = snapshot(game);
+        GameRecorder recorder = new GameRecorder(game, new EventLog());
+
+        Assert.assertTrue(recorder.discardResources(player, Map.of(Resource.ORE, 40)));
+
+        Game replayed = GameCodec.read(ByteBuffer.wrap(start));
+        Replayer.replay(replayed, recorder.getLog());
+        Assert.assertEquals(40, replayed.getCurrentPlayer().inventory().getResource(Resource.ORE));
+        Assert.assertArrayEquals(snapshot(game), snapshot(replayed));
+    }
+
+    @Test
+    public void testWhenBoughtCardDiffersFromLoggedCard_ThenReplayThrows() {
+        Game game = SimulatorTest.standardGame(13);
+        game.setState(new ActionPhase(game));
+        Player player = game.getCurrentPlayer();
+        player.inventory().putResource(Resource.GRAIN, 1);
+        player.inventory().putResource(Resource.WOOL, 1);
+        player.inventory().putResource(Resource.ORE, 1);
+        byte[] start = snapshot(game);
+        DevelopmentCard drawn = game.getDevelopmentCards().get(0);
+        GameRecorder recorder = new GameRecorder(game, new EventLog());
+        Assert.assertTrue(recorder.buyDevelopmentCard(player));
+
+        Game replayed = GameCodec.read(ByteBuffer.wrap(start));
+        Replayer.replay(replayed, recorder.getLog());
+        Assert.assertEquals(1, replayed.getCurrentPlayer().inventory().getDevelopmentCard(drawn));
+
+        Game reordered = GameCodec.read(ByteBuffer.wrap(start));
+        for (long seed = 0; reordered.getDevelopmentCards().get(0) == drawn; seed++) {
+            reordered.shuffleDevelopmentCards(new SplittableRandom(seed));
+        }
+        Assert.assertThrows(IllegalStateException.class, () -> Replayer.replay(reordered, recorder.getLog()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWhenEventIsIllegal_ThenReplayThrows() {
+        Game game = SimulatorTest.standardGame(9);
+        EventLog log = playRandomGame(game, 9, 10).getLog();
+
+        // the game has moved on, so its first event no longer applies
+        Replayer.apply(game, log.get(0));
+    }
+}
@@ -3,6 +3,7 @@ package com.settlers.game;
 import com.settlers.game.dice.Dice;
 import com.settlers.game.dice.TestingDice;
 import com.settlers.game.states.DiscardResources;
+import com.settlers.game.states.MoveRobber;
 import com.settlers.game.states.RollForResources;
 import org.junit.Assert;
 import org.junit.Test;
@@ -172,7 +173,10 @@ public class RollForResourcesTest {
     @Test
     public void testWhenRollSeven_ThenDiscardResourcesState() {
         Board board = Board.builder().build();
-        Player player = Player.create(Color.ORANGE);
+        Inventory inventory = Inventory.builder()
+                .addGrain(8)
+                .build();
+        Player player = Player.of(Color.ORANGE, inventory);
         Dice dice = TestingDice.of(7);
         Game game = Game.builder()
                 .addPlayer(player)
@@ -187,6 +191,24 @@ public class RollForResourcesTest {
         Assert.assertTrue(game.getState() instanceof DiscardResources);
     }
 
+    @Test
+    public void testWhenRollSevenAndNobodyHasToDiscard_ThenMoveRobberState() {
+        Board board = Board.builder().build();
+        Player player = Player.create(Color.ORANGE);
+        Dice dice = TestingDice.of(7);
+        Game game = Game.builder()
+                .addPlayer(player)
+                .setBoard(board)
+                .setDice(dice)
+                .build();
+
+        RollForResources uut = new RollForResources(game);
+        game.setState(uut);
+        uut.rollDice(player);
+
+        Assert.assertTrue(game.getState() instanceof MoveRobber);
+    }
+
     @Test
     public void testWhenTwoPlayersYieldResources_ThenBothPlayersReceiveResources() {
         Coordinate coordinate = Coordinate.of(1, 2);
@@ -263,4 +285,57 @@ public class RollForResourcesTest {
 
         Assert.assertEquals(0, player.inventory().getResource(Resource.ORE));
     }
+
+    @Test
+    public void testWhenTwoTilesWithSameResourceAndNumber_ThenPlayerReceivesFromBoth() {
+        Coordinate coordinate = Coordinate.of(1, 2);
+        Coordinate adjacentCoordinate = Coordinate.of(2, 2);
+        Tile tile = Tile.builder()
+                .addBuilding(Direction.THREE, Building.of(Color.RED, Building.Type.SETTLEMENT))
+                .build(Resource.ORE, 6);
+        Tile adjacentTile = Tile.builder().build(Resource.ORE, 6);
+        Board board = Board.builder()
+                .addTile(coordinate, tile)
+                .addTile(adjacentCoordinate, adjacentTile)
+                .build();
+        Player player = Player.create(Color.RED);
+        Game game = Game.builder()
+                .addPlayer(player)
+                .setBoard(board)
+                .setDice(TestingDice.of(6))
+                .build();
+
+        RollForResources uut = new RollForResources(game);
+        game.setState(uut);
+        uut.rollDice(player);
+
+        Assert.assertEquals(2, player.inventory().getResource(Resource.ORE));
+    }
+
+    @Test
+    public void testWhenRobberMovedOntoTileAfterBuilding_ThenNoResourcesReceived() {
+        Coordinate coordinate = Coordinate.of(1, 2);
+        Coordinate otherCoordinate = Coordinate.of(3, 2);
+        Tile tile = Tile.builder().build(Resource.ORE, 6);
+        Tile otherTile = Tile.builder().build(Resource.LUMBER, 6);
+        Board board = Board.builder()
+                .addTile(coordinate, tile)
+                .addTile(otherCoordinate, otherTile)
+                .setRobber(otherCoordinate)
+                .build();
+        board.addBuilding(Position.of(coordinate, Direction.THREE), Building.of(Color.WHITE, Building.Type.SETTLEMENT), true);
+        board.setRobber(coordinate);
+        Player player = Player.create(Color.WHITE);
+        Game game = Game.builder()
+                .addPlayer(player)
+                .setBoard(board)
+                .setDice(TestingDice.of(6))
+                .build();
+
+        RollForResources uut = new RollForResources(game);
+        game.setState(uut);
+        uut.rollDice(player);
+
+        Assert.assertEquals(0, player.inventory().getResource(Resource.ORE));
+    }
 }
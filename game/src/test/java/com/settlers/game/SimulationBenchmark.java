@@ -0,0 +1,20 @@
+package com.settlers.game;
+
+import com.settlers.game.simulation.Simulator;
+
+/**
+ * Plays random-bot games on all cores and prints throughput and time per phase.
+ * Run with {@code java -cp target/classes:target/test-classes com.settlers.game.SimulationBenchmark [games]}.
+ */
+public class SimulationBenchmark {
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Simulator simulator = Simulator.builder()
+                .setGames(SimulatorTest::standardGame)
+                .build();
+
+        // warm up the JIT before measuring
+        simulator.run(games / 10);
+        System.out.println(simulator.run(games));
+    }
+}
@@ -0,0 +1,94 @@
+package com.settlers.game;
+
+import com.settlers.game.simulation.SimulationReport;
+import com.settlers.game.simulation.Simulator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class SimulatorTest {
+    private static final int[] NUMBERS = {2, 3, 3, 4, 4, 5, 5, 6, 6, 8, 8, 9, 9, 10, 10, 11, 11, 12};
+
+    static Game standardGame(long seed) {
+        Random rng = new Random(seed);
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            resources.add(Resource.LUMBER);
+            resources.add(Resource.WOOL);
+            resources.add(Resource.GRAIN);
+        }
+        for (int i = 0; i < 3; i++) {
+            resources.add(Resource.BRICK);
+            resources.add(Resource.ORE);
+        }
+        resources.add(Resource.NOTHING);
+        Collections.shuffle(resources, rng);
+
+        Board.Builder builder = Board.builder();
+        int tile = 0;
+        int number = 0;
+        for (int q = -2; q <= 2; q++) {
+            for (int r = -2; r <= 2; r++) {
+                if (Math.abs(q + r) > 2) continue;
+                Resource resource = resources.get(tile++);
+                if (resource == Resource.NOTHING) {
+                    builder.addTile(Coordinate.of(q, r), Tile.builder().build(resource, 7));
+                    builder.setRobber(Coordinate.of(q, r));
+                } else {
+                    builder.addTile(Coordinate.of(q, r), Tile.builder().build(resource, NUMBERS[number++]));
+                }
+            }
+        }
+
+        List<DevelopmentCard> developmentCards = new ArrayList<>();
+        for (int i = 0; i < 14; i++) developmentCards.add(DevelopmentCard.KNIGHT);
+        for (int i = 0; i < 5; i++) developmentCards.add(DevelopmentCard.VICTORY_POINT);
+        for (int i = 0; i < 2; i++) {
+            developmentCards.add(DevelopmentCard.ROAD_BUILDING);
+            developmentCards.add(DevelopmentCard.YEAR_OF_PLENTY);
+            developmentCards.add(DevelopmentCard.MONOPOLY);
+        }
+        Collections.shuffle(developmentCards, rng);
+
+        return Game.builder()
+                .setBoard(builder.build())
+                .addPlayer(Player.create(Color.RED))
+                .addPlayer(Player.create(Color.BLUE))
+                .addPlayer(Player.create(Color.WHITE))
+                .addPlayer(Player.create(Color.ORANGE))
+                .setSeed(seed)
+                .setDevelopmentCards(developmentCards)
+                .build();
+    }
+
+    @Test
+    public void testWhenGamesSimulated_ThenEveryGameHasAWinner() {
+        Simulator uut = Simulator.builder()
+                .setGames(SimulatorTest::standardGame)
+                .setParallelism(2)
+                .setSeed(1)
+                .build();
+
+        SimulationReport report = uut.run(40);
+
+        Assert.assertEquals(40, report.games());
+        Assert.assertEquals(40, report.finishedGames());
+        Assert.assertEquals(40, report.wins().values().stream().mapToInt(Integer::intValue).sum());
+        Assert.assertTrue(report.actions() > 0);
+        Assert.assertTrue(report.phaseNanos().containsKey("ActionPhase"));
+        Assert.assertTrue(report.phaseNanos().containsKey("SetupPhase"));
+    }
+
+    @Test
+    public void testWhenSameSeed_ThenSameWinner() {
+        Simulator uut = Simulator.builder()
+                .setGames(SimulatorTest::standardGame)
+                .build();
+
+        Assert.assertEquals(uut.play(7), uut.play(7));
+    }
+}
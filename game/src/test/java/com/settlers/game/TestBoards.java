@@ -0,0 +1,46 @@
+package com.settlers.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Hexagonal boards shared by the tests and benchmarks.
+ */
+final class TestBoards {
+    private TestBoards() {
+    }
+
+    /**
+     * Returns the coordinates of a hexagon of tiles with the given radius around the origin, 19 tiles for radius 2.
+     */
+    static Collection<Coordinate> hexagon(int radius) {
+        Collection<Coordinate> coordinates = new ArrayList<>();
+        for (int q = -radius; q <= radius; q++) {
+            for (int r = -radius; r <= radius; r++) {
+                if (Math.abs(q + r) > radius) continue;
+                coordinates.add(Coordinate.of(q, r));
+            }
+        }
+
+        return coordinates;
+    }
+
+    /**
+     * Returns a builder for a hexagon of grain tiles numbered 5 with the given radius, and no robber.
+     */
+    static Board.Builder grainBoard(int radius) {
+        Board.Builder builder = Board.builder();
+        for (Coordinate coordinate : hexagon(radius)) {
+            builder.addTile(coordinate, Tile.builder().build(Resource.GRAIN, 5));
+        }
+
+        return builder;
+    }
+
+    /**
+     * Returns a board of the standard 19 tiles, all grain numbered 5, and no robber.
+     */
+    static Board standardBoard() {
+        return grainBoard(2).build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.settlers.game;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prints the heap retained by the tiles of a standard board and the latency of a tile lookup, for tiles as built by
+ * {@link Tile.Builder} and for the per-tile hash maps tiles used to hold. Every tile has a settlement, a road and a
+ * harbor on two of its sides.
+ * Run with {@code java -cp target/classes:target/test-classes com.settlers.game.TileBenchmark}.
+ */
+public class TileBenchmark {
+    private static final int TILES = 19;
+    private static final int BOARDS = 10_000;
+    private static final int LOOKUPS = 50_000_000;
+
+    public static void main(String[] args) {
+        Object[] boards = new Object[BOARDS];
+        long before = usedHeap();
+        for (int i = 0; i < BOARDS; i++) {
+            boards[i] = tiles();
+        }
+        long tiles = usedHeap() - before;
+
+        boards = new Object[BOARDS];
+        before = usedHeap();
+        for (int i = 0; i < BOARDS; i++) {
+            boards[i] = hashMaps();
+        }
+        long hashMaps = usedHeap() - before;
+
+        System.out.printf("bytes per board, tiles:     %,d%n", tiles / BOARDS);
+        System.out.printf("bytes per board, hash maps: %,d%n", hashMaps / BOARDS);
+
+        Tile[] tileBoard = tiles();
+        Map<?, ?>[][] hashMapBoard = hashMaps();
+        long checksum = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            checksum += lookUpTiles(tileBoard);
+            long tileNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            checksum += lookUpHashMaps(hashMapBoard);
+            long hashMapNanos = System.nanoTime() - start;
+            if (round < 2) continue;
+
+            System.out.printf("ns per lookup, tiles:       %.2f%n", (double) tileNanos / LOOKUPS);
+            System.out.printf("ns per lookup, hash maps:   %.2f%n", (double) hashMapNanos / LOOKUPS);
+        }
+        System.out.println("checksum: " + checksum + " " + boards.length);
+    }
+
+    private static Tile[] tiles() {
+        Tile[] tiles = new Tile[TILES];
+        for (int tile = 0; tile < TILES; tile++) {
+            Tile.Builder builder = Tile.builder();
+            for (Direction direction : new Direction[]{Direction.ONE, Direction.FOUR}) {
+                builder.addBuilding(direction, Building.of(Color.RED, Building.Type.SETTLEMENT))
+                        .addRoad(direction, Road.of(Color.RED))
+                        .addHarbor(direction, Harbor.ANY);
+            }
+            tiles[tile] = builder.build(Resource.ORE, 8);
+        }
+
+        return tiles;
+    }
+
+    private static Map<?, ?>[][] hashMaps() {
+        Map<?, ?>[][] tiles = new Map<?, ?>[TILES][];
+        for (int tile = 0; tile < TILES; tile++) {
+            Map<Direction, Building> buildings = new HashMap<>();
+            Map<Direction, Road> roads = new HashMap<>();
+            Map<Direction, Harbor> harbors = new HashMap<>();
+            for (Direction direction : new Direction[]{Direction.ONE, Direction.FOUR}) {
+                buildings.put(direction, Building.of(Color.RED, Building.Type.SETTLEMENT));
+                roads.put(direction, Road.of(Color.RED));
+                harbors.put(direction, Harbor.ANY);
+            }
+            tiles[tile] = new Map<?, ?>[]{buildings, roads, harbors};
+        }
+
+        return tiles;
+    }
+
+    private static long lookUpTiles(Tile[] tiles) {
+        Direction[] directions = Direction.values();
+        long found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (tiles[i % TILES].buildings().get(directions[i % directions.length]) != null) found++;
+        }
+
+        return found;
+    }
+
+    private static long lookUpHashMaps(Map<?, ?>[][] tiles) {
+        Direction[] directions = Direction.values();
+        long found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (tiles[i % TILES][0].get(directions[i % directions.length]) != null) found++;
+        }
+
+        return found;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,24 @@
+package com.settlers.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileTest {
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWhenTileMapChanged_ThenThrows() {
+        Tile tile = Tile.builder().build(Resource.ORE, 8);
+
+        tile.roads().put(Direction.ONE, Road.of(Color.RED));
+    }
+
+    @Test
+    public void testWhenBuilderReused_ThenBuiltTileUnchanged() {
+        Tile.Builder builder = Tile.builder().addHarbor(Direction.ONE, Harbor.ANY);
+        Tile tile = builder.build(Resource.ORE, 8);
+
+        builder.addBuilding(Direction.TWO, Building.of(Color.RED, Building.Type.SETTLEMENT));
+
+        Assert.assertTrue(tile.buildings().isEmpty());
+        Assert.assertEquals(Harbor.ANY, tile.harbors().get(Direction.ONE));
+    }
+}
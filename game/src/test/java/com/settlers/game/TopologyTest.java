@@ -0,0 +1,96 @@
+package com.settlers.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+public class TopologyTest {
+    @Test
+    public void testWhenStandardBoard_ThenVertexAndEdgeCountsMatch() {
+        Collection<Coordinate> coordinates = TestBoards.hexagon(2);
+
+        Topology uut = Topology.of(coordinates);
+
+        Assert.assertEquals(19, uut.tileCount());
+        Assert.assertEquals(54, uut.vertexCount());
+        Assert.assertEquals(72, uut.edgeCount());
+    }
+
+    @Test
+    public void testWhenVertexSharedByThreeTiles_ThenAllPositionsHaveSameId() {
+        Topology uut = Topology.of(List.of(Coordinate.of(0, 0), Coordinate.of(0, -1), Coordinate.of(1, -1)));
+
+        int vertex = uut.getVertex(Position.of(0, 0, Direction.ONE));
+
+        Assert.assertEquals(vertex, uut.getVertex(Position.of(0, -1, Direction.THREE)));
+        Assert.assertEquals(vertex, uut.getVertex(Position.of(1, -1, Direction.FIVE)));
+    }
+
+    @Test
+    public void testWhenEdgeSharedByTwoTiles_ThenBothPositionsHaveSameId() {
+        Topology uut = Topology.of(List.of(Coordinate.of(0, 0), Coordinate.of(1, -1)));
+
+        int edge = uut.getEdge(Position.of(0, 0, Direction.ONE));
+
+        Assert.assertEquals(edge, uut.getEdge(Position.of(1, -1, Direction.FOUR)));
+    }
+
+    @Test
+    public void testWhenPositionNotOnAnyTile_ThenIdIsNegative() {
+        Topology uut = Topology.of(List.of(Coordinate.of(0, 0)));
+
+        Assert.assertEquals(-1, uut.getVertex(Position.of(5, 5, Direction.ONE)));
+        Assert.assertEquals(-1, uut.getEdge(Position.of(5, 5, Direction.ONE)));
+    }
+
+    @Test
+    public void testWhenStandardBoard_ThenAdjacencyMatchesPositions() {
+        Collection<Coordinate> coordinates = TestBoards.hexagon(2);
+        Topology uut = Topology.of(coordinates);
+
+        for (int vertex = 0; vertex < uut.vertexCount(); vertex++) {
+            for (Position adjacent : uut.getVertexPosition(vertex).getAdjacentVerticesForVertex()) {
+                int adjacentVertex = uut.getVertex(adjacent);
+                if (adjacentVertex < 0) continue;
+                Assert.assertTrue(uut.vertexVertices().contains(vertex, adjacentVertex));
+            }
+        }
+        for (int edge = 0; edge < uut.edgeCount(); edge++) {
+            Assert.assertEquals(2, uut.edgeVertices().count(edge));
+            for (Position adjacent : uut.getEdgePosition(edge).getAdjacentEdgesForEdge()) {
+                int adjacentEdge = uut.getEdge(adjacent);
+                if (adjacentEdge < 0) continue;
+                Assert.assertTrue(uut.edgeEdges().contains(edge, adjacentEdge));
+            }
+        }
+    }
+
+    @Test
+    public void testWhenCenterVertex_ThenThreeAdjacentTiles() {
+        Topology uut = Topology.of(List.of(Coordinate.of(0, 0), Coordinate.of(0, -1), Coordinate.of(1, -1)));
+
+        int vertex = uut.getVertex(Position.of(0, 0, Direction.ONE));
+
+        Assert.assertEquals(3, uut.vertexTiles().count(vertex));
+        Assert.assertEquals(3, uut.vertexEdges().count(vertex));
+    }
+
+    @Test
+    public void testWhenLargeBoard_ThenLookupsByPackedKeyMatchPositions() {
+        Collection<Coordinate> coordinates = TestBoards.hexagon(20);
+        Topology uut = Topology.of(coordinates);
+
+        for (int tile = 0; tile < uut.tileCount(); tile++) {
+            Coordinate coordinate = uut.getCoordinate(tile);
+            Assert.assertEquals(tile, uut.getTile(coordinate.q(), coordinate.r()));
+            for (Direction direction : Direction.values()) {
+                Assert.assertEquals(uut.getVertex(tile, direction), uut.getVertex(coordinate.q(), coordinate.r(), direction));
+                Assert.assertEquals(uut.getEdge(tile, direction), uut.getEdge(coordinate.q(), coordinate.r(), direction));
+            }
+        }
+        Assert.assertEquals(-1, uut.getTile(21, 0));
+        Assert.assertEquals(-1, uut.getVertex(10_000, 0, Direction.ONE));
+    }
+}
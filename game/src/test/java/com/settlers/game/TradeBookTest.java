@@ -0,0 +1,73 @@
+package com.settlers.game;
+
+import com.settlers.game.states.ActionPhase;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TradeBookTest {
+    private final Player redPlayer = Player.create(Color.RED);
+    private final Player bluePlayer = Player.create(Color.BLUE);
+    private final Player orangePlayer = Player.create(Color.ORANGE);
+    private final Game game = Game.builder()
+            .addPlayer(redPlayer)
+            .addPlayer(bluePlayer)
+            .addPlayer(orangePlayer)
+            .build();
+    private final TradeBook uut = new TradeBook(game);
+
+    {
+        game.setState(new ActionPhase(game));
+    }
+
+    @Test
+    public void testWhenOrdersMatch_ThenSettleTradesAndClosesThem() {
+        redPlayer.inventory().putResource(Resource.ORE, 2);
+        bluePlayer.inventory().putResource(Resource.GRAIN, 1);
+        orangePlayer.inventory().putResource(Resource.WOOL, 1);
+        int redOreForGrain = uut.post(redPlayer, Inventory.cost(Resource.ORE, 1), Inventory.cost(Resource.GRAIN, 1));
+        int redOreForWool = uut.post(redPlayer, Inventory.cost(Resource.ORE, 1), Inventory.cost(Resource.WOOL, 1));
+        uut.post(bluePlayer, Inventory.cost(Resource.GRAIN, 1), Inventory.cost(Resource.ORE, 1));
+        uut.post(orangePlayer, Inventory.cost(Resource.WOOL, 1), Inventory.cost(Resource.ORE, 1));
+
+        Assert.assertEquals(2, uut.matches().size());
+        Assert.assertEquals(2, uut.settle());
+
+        Assert.assertEquals(0, redPlayer.inventory().getResource(Resource.ORE));
+        Assert.assertEquals(1, redPlayer.inventory().getResource(Resource.GRAIN));
+        Assert.assertEquals(1, redPlayer.inventory().getResource(Resource.WOOL));
+        Assert.assertEquals(1, bluePlayer.inventory().getResource(Resource.ORE));
+        Assert.assertEquals(1, orangePlayer.inventory().getResource(Resource.ORE));
+        Assert.assertFalse(uut.isOpen(redOreForGrain));
+        Assert.assertFalse(uut.isOpen(redOreForWool));
+        Assert.assertEquals(0, uut.size());
+    }
+
+    @Test
+    public void testWhenCounterOrderUnaffordable_ThenMatchedOnceInventoryChanges() {
+        redPlayer.inventory().putResource(Resource.BRICK, 1);
+        uut.post(redPlayer, Inventory.cost(Resource.BRICK, 1), Inventory.cost(Resource.LUMBER, 2));
+        uut.post(bluePlayer, Inventory.cost(Resource.LUMBER, 2), Inventory.cost(Resource.BRICK, 1));
+
+        Assert.assertTrue(uut.matches().isEmpty());
+        Assert.assertEquals(0, uut.settle());
+        Assert.assertEquals(2, uut.size());
+
+        bluePlayer.inventory().putResource(Resource.LUMBER, 2);
+
+        Assert.assertEquals(1, uut.settle());
+        Assert.assertEquals(2, redPlayer.inventory().getResource(Resource.LUMBER));
+        Assert.assertEquals(1, bluePlayer.inventory().getResource(Resource.BRICK));
+    }
+
+    @Test
+    public void testWhenNeitherOrderIsCurrentPlayers_ThenNoMatch() {
+        bluePlayer.inventory().putResource(Resource.GRAIN, 1);
+        orangePlayer.inventory().putResource(Resource.WOOL, 1);
+        uut.post(bluePlayer, Inventory.cost(Resource.GRAIN, 1), Inventory.cost(Resource.WOOL, 1));
+        uut.post(orangePlayer, Inventory.cost(Resource.WOOL, 1), Inventory.cost(Resource.GRAIN, 1));
+
+        Assert.assertTrue(uut.matches().isEmpty());
+        Assert.assertEquals(0, uut.settle());
+        Assert.assertEquals(-1, uut.post(bluePlayer, Inventory.cost(Resource.WOOL, 1), Inventory.cost(Resource.WOOL, 1)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.settlers.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TradeTest {
+    @Test
+    public void testWhenBuiltFromBuilderOrMaps_ThenTradesAreEqual() {
+        Player red = Player.create(Color.RED);
+        Player blue = Player.create(Color.BLUE);
+
+        Trade built = Trade.builder().offerBrick(2).offerBrick(1).receiveWool(1).build(red, blue);
+        Trade fromMaps = new Trade(red, blue, Map.of(Resource.BRICK, 3), Map.of(Resource.WOOL, 1));
+
+        Assert.assertEquals(built, fromMaps);
+        Assert.assertEquals(3, built.getOffer(Resource.BRICK));
+        Assert.assertEquals(0, built.getOffer(Resource.WOOL));
+        Assert.assertEquals(1, built.getReceive(Resource.WOOL));
+    }
+
+    @Test
+    public void testWhenEitherPlayerLacksResources_ThenTradeIsNotFeasible() {
+        Trade trade = Trade.builder().offerOre(2).receiveGrain(1).build(Player.create(Color.RED), Player.create(Color.BLUE));
+        Inventory twoOre = Inventory.builder().addOre(2).build();
+        Inventory oneOre = Inventory.builder().addOre(1).build();
+        Inventory oneGrain = Inventory.builder().addGrain(1).build();
+
+        Assert.assertTrue(trade.isFeasible(twoOre, oneGrain));
+        Assert.assertFalse(trade.isFeasible(oneOre, oneGrain));
+        Assert.assertFalse(trade.isFeasible(twoOre, oneOre));
+    }
+}
@@ -0,0 +1,76 @@
+package com.settlers.game;
+
+import com.settlers.game.states.ActionPhase;
+
+/**
+ * Compares reverting a turn with {@link Game#undo()} against rebuilding the game from scratch.
+ * Run with {@code java -cp target/classes:target/test-classes com.settlers.game.UndoBenchmark}.
+ */
+public class UndoBenchmark {
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        Game game = createGame();
+        Player player = game.getCurrentPlayer();
+        for (int i = 0; i < WARMUP; i++) {
+            undoTurn(game, player);
+            rebuildTurn();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            undoTurn(game, player);
+        }
+        long undo = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rebuildTurn();
+        }
+        long rebuild = System.nanoTime() - start;
+
+        System.out.printf("undo:    %8.1f ns/op%n", (double) undo / ITERATIONS);
+        System.out.printf("rebuild: %8.1f ns/op%n", (double) rebuild / ITERATIONS);
+    }
+
+    private static void undoTurn(Game game, Player player) {
+        game.mark();
+        playTurn(game, player);
+        game.undo();
+    }
+
+    private static void rebuildTurn() {
+        Game game = createGame();
+        playTurn(game, game.getCurrentPlayer());
+    }
+
+    private static void playTurn(Game game, Player player) {
+        game.getState().addRoad(player, Position.of(0, 0, Direction.TWO), Road.of(player.color()));
+        game.getState().addRoad(player, Position.of(0, 0, Direction.THREE), Road.of(player.color()));
+        game.getState().addBuilding(player, Position.of(0, 0, Direction.THREE), Building.of(player.color(), Building.Type.SETTLEMENT));
+        game.getState().exchange(player, Resource.BRICK, Resource.ORE);
+        game.getState().endTurn(player);
+    }
+
+    private static Game createGame() {
+        Board board = TestBoards.standardBoard();
+        board.addBuilding(Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        board.addRoad(Position.of(0, 0, Direction.ONE), Road.of(Color.RED));
+        Inventory inventory = Inventory.builder()
+                .addBrick(10)
+                .addLumber(10)
+                .addWool(10)
+                .addGrain(10)
+                .addOre(10)
+                .build();
+        Game game = Game.builder()
+                .setBoard(board)
+                .addPlayer(Player.of(Color.RED, inventory))
+                .addPlayer(Player.create(Color.BLUE))
+                .build();
+        game.setState(new ActionPhase(game));
+
+        return game;
+    }
+}
@@ -0,0 +1,144 @@
+package com.settlers.game;
+
+import com.settlers.game.states.ActionPhase;
+import com.settlers.game.states.SetupPhase;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class UndoTest {
+    private static String snapshot(Game game) {
+        StringBuilder snapshot = new StringBuilder();
+        Board board = game.getBoard();
+        Topology topology = board.getTopology();
+        for (int vertex = 0; vertex < topology.vertexCount(); vertex++) {
+            snapshot.append(board.getBuilding(topology.getVertexPosition(vertex)).orElse(null)).append(',');
+        }
+        for (int edge = 0; edge < topology.edgeCount(); edge++) {
+            snapshot.append(board.getRoad(topology.getEdgePosition(edge)).orElse(null)).append(',');
+        }
+        snapshot.append(board.getRobber()).append(';');
+        for (Player player : game.getPlayers()) {
+            Inventory inventory = player.inventory();
+            for (Resource resource : Resource.values()) {
+                if (resource == Resource.NOTHING) continue;
+                snapshot.append(inventory.getResource(resource)).append(',');
+                snapshot.append(board.getExchangeRatio(player.color(), resource)).append(',');
+            }
+            for (DevelopmentCard developmentCard : DevelopmentCard.values()) {
+                snapshot.append(inventory.getDevelopmentCard(developmentCard)).append(',');
+            }
+            snapshot.append(inventory.building(Building.Type.SETTLEMENT)).append(',')
+                    .append(inventory.building(Building.Type.CITY)).append(',')
+                    .append(inventory.roads()).append(',')
+                    .append(inventory.usedKnights()).append(',')
+                    .append(board.getLongestRoad(player)).append(',')
+                    .append(game.getVictoryPoints(player)).append(';');
+        }
+        snapshot.append(game.getCurrentPlayer().color()).append(';')
+                .append(System.identityHashCode(game.getState())).append(';')
+                .append(game.hasDevelopmentCards());
+
+        return snapshot.toString();
+    }
+
+    @Test
+    public void testWhenActionsUndone_ThenGameIsRestored() {
+        Board board = TestBoards.standardBoard();
+        board.addBuilding(Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.SETTLEMENT), true);
+        board.addRoad(Position.of(0, 0, Direction.ONE), Road.of(Color.RED));
+        Inventory inventory = Inventory.builder()
+                .addBrick(10)
+                .addLumber(10)
+                .addWool(10)
+                .addGrain(10)
+                .addOre(10)
+                .build();
+        Player redPlayer = Player.of(Color.RED, inventory);
+        Player bluePlayer = Player.create(Color.BLUE);
+        Game game = Game.builder()
+                .setBoard(board)
+                .addPlayer(redPlayer)
+                .addPlayer(bluePlayer)
+                .setDevelopmentCards(List.of(DevelopmentCard.KNIGHT, DevelopmentCard.MONOPOLY))
+                .build();
+        game.setState(new ActionPhase(game));
+        String before = snapshot(game);
+        long version = game.getVersion();
+        long hash = game.getHash();
+
+        game.mark();
+        Assert.assertTrue(game.getState().addRoad(redPlayer, Position.of(0, 0, Direction.TWO), Road.of(Color.RED)));
+        Assert.assertTrue(game.getState().addRoad(redPlayer, Position.of(0, 0, Direction.THREE), Road.of(Color.RED)));
+        Assert.assertTrue(game.getState().addBuilding(redPlayer, Position.of(0, 0, Direction.THREE), Building.of(Color.RED, Building.Type.SETTLEMENT)));
+        Assert.assertTrue(game.getState().addBuilding(redPlayer, Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.CITY)));
+        Assert.assertTrue(game.getState().buyDevelopmentCard(redPlayer));
+        Assert.assertTrue(game.getState().exchange(redPlayer, Resource.BRICK, Resource.ORE));
+        Assert.assertTrue(game.getState().endTurn(redPlayer));
+        Assert.assertNotEquals(before, snapshot(game));
+        game.undo();
+
+        Assert.assertEquals(before, snapshot(game));
+        Assert.assertTrue(game.getVersion() > version);
+        Assert.assertEquals(hash, game.getHash());
+        Assert.assertEquals(DevelopmentCard.KNIGHT, game.takeDevelopmentCard());
+    }
+
+    @Test
+    public void testWhenNestedMarks_ThenEachUndoRestoresItsOwnMark() {
+        Player redPlayer = Player.create(Color.RED);
+        Player bluePlayer = Player.create(Color.BLUE);
+        Game game = Game.builder()
+                .setBoard(TestBoards.standardBoard())
+                .addPlayer(redPlayer)
+                .addPlayer(bluePlayer)
+                .build();
+        game.setState(new SetupPhase(game, true));
+        String initial = snapshot(game);
+
+        game.mark();
+        Assert.assertTrue(game.getState().addBuilding(redPlayer, Position.of(0, 0, Direction.ONE), Building.of(Color.RED, Building.Type.SETTLEMENT)));
+        String afterSettlement = snapshot(game);
+        game.mark();
+        Assert.assertTrue(game.getState().addRoad(redPlayer, Position.of(0, 0, Direction.ONE), Road.of(Color.RED)));
+        Assert.assertEquals(bluePlayer, game.getCurrentPlayer());
+        game.undo();
+
+        Assert.assertEquals(afterSettlement, snapshot(game));
+        Assert.assertEquals(3, game.getLegalMoves(redPlayer).getRoadCount());
+        game.undo();
+        Assert.assertEquals(initial, snapshot(game));
+        Assert.assertEquals(54, game.getLegalMoves(redPlayer).getSettlementCount());
+        Assert.assertFalse(game.isRecording());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWhenUndoWithoutMark_ThenThrows() {
+        Game game = Game.builder().build();
+
+        game.undo();
+    }
+
+    @Test
+    public void testWhenRollsAndReseedUndone_ThenRandomStreamAndLastRollAreRestored() {
+        Game game = Game.builder()
+                .setBoard(TestBoards.standardBoard())
+                .addPlayer(Player.create(Color.RED))
+                .setSeed(6)
+                .build();
+        int lastRoll = game.rollDice();
+        Game fork = game.fork();
+
+        game.mark();
+        game.rollDice();
+        game.reseed(42);
+        game.rollDice();
+        game.undo();
+
+        Assert.assertEquals(lastRoll, game.getLastRoll());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(fork.rollDice(), game.rollDice());
+        }
+    }
+}